@@ -0,0 +1,235 @@
+package artbash;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 알파벳과 매핑 방식(거울 뒤집기, n칸 회전)을 선언해 하나의 조회 테이블로 컴파일하는 치환 암호 엔진입니다.
+ * 선언한 문자 체계의 수와 관계없이 문자 하나당 비용은 테이블 조회 한 번입니다.
+ * 알파벳에 속하지 않은 문자와 서로게이트는 자기 자신으로 매핑되므로 코드 유닛 단위로 변환해도 안전합니다.
+ * <pre>
+ * AlphabetCipher cipher = AlphabetCipher.builder()
+ *         .mirror('a', 'z').mirror('A', 'Z')
+ *         .mirror('А', 'Я').mirror('а', 'я')
+ *         .build();
+ * AlphabetCipher rot13 = AlphabetCipher.builder().rotate('a', 'z', 13).rotate('A', 'Z', 13).build();
+ * </pre>
+ * 만들어진 인스턴스는 불변이며 여러 스레드에서 함께 사용할 수 있습니다.
+ */
+public final class AlphabetCipher {
+
+    /** 영문 대/소문자와 한글 음절을 뒤집는 기본 아트배쉬 매핑 */
+    public static final AlphabetCipher ATBASH = builder()
+            .mirror('a', 'z')
+            .mirror('A', 'Z')
+            .mirror('가', '힣')
+            .build();
+
+    /** 영문 대/소문자를 13칸 회전하는 ROT13 매핑 */
+    public static final AlphabetCipher ROT13 = builder()
+            .rotate('a', 'z', 13)
+            .rotate('A', 'Z', 13)
+            .build();
+
+    private final char[] table;
+    private final boolean involution;
+
+    private AlphabetCipher(char[] table) {
+        this.table = table;
+        this.involution = isInvolution(table);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 컴파일된 테이블입니다. 같은 패키지의 특화 경로에서만 읽으며 수정하지 않습니다.
+     */
+    char[] table() {
+        return table;
+    }
+
+    /**
+     * @return 두 번 적용하면 원래대로 돌아오는 매핑이면 true (거울 매핑, ROT13 등)
+     */
+    public boolean isInvolution() {
+        return involution;
+    }
+
+    /**
+     * 이 매핑을 되돌리는 암호를 반환합니다. 자기 역원인 매핑은 자신을 반환합니다.
+     */
+    public AlphabetCipher inverse() {
+        if (involution) {
+            return this;
+        }
+        char[] inverse = new char[table.length];
+        for (int i = 0; i < table.length; i++) {
+            inverse[table[i]] = (char) i;
+        }
+        return new AlphabetCipher(inverse);
+    }
+
+    /**
+     * 문자 하나를 변환합니다.
+     *
+     * @param character 변환할 문자
+     * @return 변환된 문자 (알파벳에 속하지 않은 문자는 그대로 반환)
+     */
+    public char transform(char character) {
+        return table[character];
+    }
+
+    /**
+     * 문자열을 변환합니다.
+     *
+     * @param text 변환할 원본 문자열
+     * @return 변환된 문자열
+     */
+    public String transform(String text) {
+        if (text == null) {
+            return null;
+        }
+        char[] result = new char[text.length()];
+        text.getChars(0, result.length, result, 0);
+        transformInPlace(result, 0, result.length);
+        return new String(result);
+    }
+
+    /**
+     * 배열의 지정된 구간을 제자리에서 변환합니다.
+     */
+    public void transformInPlace(char[] chars, int offset, int length) {
+        char[] table = this.table;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            chars[i] = table[chars[i]];
+        }
+    }
+
+    /**
+     * Reader에서 읽은 문자를 변환하여 Writer로 씁니다. 고정 크기 버퍼만 사용하며 스트림은 닫지 않습니다.
+     *
+     * @return 변환한 문자 수
+     */
+    public long transform(Reader in, Writer out) throws IOException {
+        char[] buffer = new char[64 * 1024];
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            transformInPlace(buffer, 0, read);
+            out.write(buffer, 0, read);
+            total += read;
+        }
+        return total;
+    }
+
+    private static boolean isInvolution(char[] table) {
+        for (int i = 0; i < table.length; i++) {
+            if (table[table[i]] != i) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 알파벳과 매핑 방식을 모아 하나의 테이블로 컴파일합니다.
+     * 알파벳은 연속 구간({@code 'a', 'z'}) 또는 순서대로 나열한 문자열로 지정합니다.
+     * 문자열은 그리스 대문자처럼 중간에 빈 코드 포인트가 있는 알파벳에 사용합니다.
+     */
+    public static final class Builder {
+        /** 회전 칸 수 대신 저장하는 거울 매핑 표시 */
+        private static final int MIRROR = -1;
+
+        private final List<char[]> alphabets = new ArrayList<>();
+        private final List<Integer> shifts = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * 구간의 첫 문자와 마지막 문자가 서로 바뀌도록 뒤집습니다 (아트배쉬).
+         */
+        public Builder mirror(char first, char last) {
+            return mirror(range(first, last));
+        }
+
+        /**
+         * 나열한 알파벳을 거울처럼 뒤집습니다.
+         */
+        public Builder mirror(String alphabet) {
+            return add(alphabet.toCharArray(), MIRROR);
+        }
+
+        /**
+         * 구간의 각 문자를 {@code n}칸 뒤의 문자로 바꿉니다. 끝을 넘으면 처음으로 돌아가며 음수는 앞으로 회전합니다.
+         */
+        public Builder rotate(char first, char last, int n) {
+            return rotate(range(first, last), n);
+        }
+
+        /**
+         * 나열한 알파벳의 각 문자를 {@code n}칸 뒤의 문자로 바꿉니다.
+         */
+        public Builder rotate(String alphabet, int n) {
+            char[] letters = alphabet.toCharArray();
+            return add(letters, letters.length == 0 ? 0 : Math.floorMod(n, letters.length));
+        }
+
+        /**
+         * 선언한 알파벳을 하나의 테이블로 컴파일합니다.
+         *
+         * @throws IllegalArgumentException 같은 문자가 둘 이상의 알파벳에 속하는 경우
+         */
+        public AlphabetCipher build() {
+            char[] table = new char[Character.MAX_VALUE + 1];
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (char) i;
+            }
+            boolean[] assigned = new boolean[table.length];
+            for (int a = 0; a < alphabets.size(); a++) {
+                char[] letters = alphabets.get(a);
+                int shift = shifts.get(a);
+                int n = letters.length;
+                for (int i = 0; i < n; i++) {
+                    char c = letters[i];
+                    if (assigned[c]) {
+                        throw new IllegalArgumentException(
+                                String.format("U+%04X appears in more than one alphabet", (int) c));
+                    }
+                    assigned[c] = true;
+                    table[c] = shift == MIRROR ? letters[n - 1 - i] : letters[(i + shift) % n];
+                }
+            }
+            return new AlphabetCipher(table);
+        }
+
+        private Builder add(char[] letters, int shift) {
+            for (char c : letters) {
+                if (Character.isSurrogate(c)) {
+                    throw new IllegalArgumentException(
+                            String.format("surrogate U+%04X cannot be part of an alphabet", (int) c));
+                }
+            }
+            alphabets.add(letters);
+            shifts.add(shift);
+            return this;
+        }
+
+        private static String range(char first, char last) {
+            if (first > last) {
+                throw new IllegalArgumentException(
+                        String.format("empty range U+%04X..U+%04X", (int) first, (int) last));
+            }
+            StringBuilder letters = new StringBuilder(last - first + 1);
+            for (char c = first; c < last; c++) {
+                letters.append(c);
+            }
+            return letters.append(last).toString();
+        }
+    }
+}
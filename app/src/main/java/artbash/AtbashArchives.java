@@ -0,0 +1,286 @@
+package artbash;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * gzip 파일과 zip 묶음을 풀지 않고 스트리밍으로 변환하여 같은 구조로 다시 압축합니다.
+ * 압축을 푼 내용을 임시 파일로 풀지 않으며, 전체를 메모리에 올리지도 않습니다.
+ * <p>
+ * zip은 항목마다 작업 스레드가 압축 해제와 변환을 맡아 크기가 정해진 파이프로 넘기고,
+ * 쓰기 스레드 하나가 원래 순서대로 항목을 꺼내 다시 압축합니다.
+ * {@link ZipOutputStream}은 미리 압축된 데이터를 받지 않으므로 다시 압축하는 단계는 순서대로 실행됩니다.
+ * <p>
+ * 파일을 받는 메서드는 대상과 같은 디렉터리의 임시 파일에 쓴 뒤 대상 자리로 옮기므로,
+ * 원본과 대상이 같은 파일이어도 되고 도중에 실패하면 대상 파일은 그대로 남습니다.
+ */
+public final class AtbashArchives {
+
+    /** 파이프 하나로 넘기는 조각 크기 */
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    /** 항목 하나의 파이프에 쌓일 수 있는 조각 수 (항목당 메모리 = CHUNK_SIZE × PIPE_CAPACITY) */
+    private static final int PIPE_CAPACITY = 4;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private AtbashArchives() {
+    }
+
+    /**
+     * gzip 스트림의 내용을 변환하여 gzip으로 다시 압축해 씁니다. 여러 멤버가 이어진 gzip도 하나로 읽습니다.
+     * 스트림은 닫지 않지만 gzip 끝부분은 모두 씁니다.
+     *
+     * @return 압축을 푼 기준으로 변환한 바이트 수
+     */
+    public static long transformGzip(InputStream in, OutputStream out) throws IOException {
+        GZIPInputStream gzipIn = new GZIPInputStream(in, BUFFER_SIZE);
+        GZIPOutputStream gzipOut = new GZIPOutputStream(out, BUFFER_SIZE);
+        long total = AtbashCipher.transform(gzipIn, gzipOut, new byte[BUFFER_SIZE]);
+        gzipOut.finish();
+        return total;
+    }
+
+    /**
+     * gzip 파일을 변환하여 대상 파일에 씁니다.
+     *
+     * @return 압축을 푼 기준으로 변환한 바이트 수
+     */
+    public static long transformGzip(Path source, Path target) throws IOException {
+        Path temp = AtbashTextFiles.createTempFile(target);
+        try {
+            long total;
+            try (InputStream in = Files.newInputStream(source);
+                 OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp), BUFFER_SIZE)) {
+                total = transformGzip(in, out);
+            }
+            AtbashTextFiles.replace(temp, target);
+            return total;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 사용 가능한 코어 수만큼 항목을 동시에 풀어 zip 파일을 변환합니다.
+     *
+     * @see #transformZip(Path, Path, int)
+     */
+    public static long transformZip(Path source, Path target) throws IOException {
+        return transformZip(source, target, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * zip 파일의 모든 항목을 변환하여 같은 이름, 순서, 시간, 주석, 압축 방식으로 새 zip 파일에 씁니다.
+     * 저장(STORED) 방식 항목은 머리에 CRC가 먼저 필요하므로 CRC를 구하는 읽기를 한 번 더 합니다.
+     *
+     * @param parallelism 동시에 풀고 변환할 항목 수
+     * @return 압축을 푼 기준으로 변환한 바이트 수
+     */
+    public static long transformZip(Path source, Path target, int parallelism) throws IOException {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        Path temp = AtbashTextFiles.createTempFile(target);
+        try {
+            long total = writeZip(source, temp, parallelism);
+            AtbashTextFiles.replace(temp, target);
+            return total;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static long writeZip(Path source, Path target, int parallelism) throws IOException {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threads = runnable -> {
+            Thread thread = new Thread(runnable, "artbash-zip-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, threads);
+        Deque<EntryPipe> window = new ArrayDeque<>();
+        try (ZipFile zip = new ZipFile(source.toFile());
+             ZipOutputStream out = new ZipOutputStream(
+                     new BufferedOutputStream(Files.newOutputStream(target), BUFFER_SIZE))) {
+            if (zip.getComment() != null) {
+                out.setComment(zip.getComment());
+            }
+            Iterator<? extends ZipEntry> entries = Collections.list(zip.entries()).iterator();
+            long total = 0;
+            // 작업 스레드보다 조금 앞서 다음 항목을 준비해 두되, 파이프 수는 창 크기로 제한
+            int windowSize = parallelism * 2;
+            while (entries.hasNext() || !window.isEmpty()) {
+                while (entries.hasNext() && window.size() < windowSize) {
+                    EntryPipe pipe = new EntryPipe(entries.next());
+                    window.add(pipe);
+                    executor.execute(() -> pipe.produce(zip));
+                }
+                total += window.removeFirst().writeTo(out);
+            }
+            return total;
+        } finally {
+            for (EntryPipe pipe : window) {
+                pipe.abandon();
+            }
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 항목 하나를 작업 스레드에서 쓰기 스레드로 넘기는 크기가 정해진 파이프입니다.
+     * 첫 원소는 저장 방식 항목의 CRC이고, 그 뒤로 변환된 조각과 끝 표시가 이어집니다.
+     */
+    private static final class EntryPipe {
+        private static final byte[] END = new byte[0];
+
+        private final ZipEntry entry;
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(PIPE_CAPACITY);
+        private volatile boolean abandoned;
+
+        EntryPipe(ZipEntry entry) {
+            this.entry = entry;
+        }
+
+        /** 작업 스레드: 항목을 풀고 변환하여 파이프에 넣습니다. */
+        void produce(ZipFile zip) {
+            try {
+                if (!entry.isDirectory()) {
+                    if (entry.getMethod() == ZipEntry.STORED) {
+                        CRC32 crc = new CRC32();
+                        try (InputStream in = zip.getInputStream(entry)) {
+                            AtbashCipher.transform(in, new CheckedOutputStream(OutputStream.nullOutputStream(), crc));
+                        }
+                        put(crc.getValue());
+                    }
+                    // ZipFile은 압축을 푼 내용의 CRC를 확인하지 않으므로 원본 CRC와 직접 비교
+                    CRC32 original = new CRC32();
+                    try (InputStream in = new CheckedInputStream(
+                            new BufferedInputStream(zip.getInputStream(entry), BUFFER_SIZE), original);
+                         OutputStream chunks = new ChunkOutputStream()) {
+                        AtbashCipher.transform(in, chunks, new byte[BUFFER_SIZE]);
+                    }
+                    if (entry.getCrc() != -1 && original.getValue() != entry.getCrc()) {
+                        throw new ZipException("invalid entry CRC");
+                    }
+                }
+                put(END);
+            } catch (IOException | RuntimeException e) {
+                try {
+                    put(e);
+                } catch (InterruptedIOException ignored) {
+                    // 쓰기 쪽이 이미 포기함
+                }
+            }
+        }
+
+        /** 쓰기 스레드: 파이프에서 꺼낸 내용을 같은 속성의 항목으로 다시 압축합니다. */
+        long writeTo(ZipOutputStream out) throws IOException {
+            ZipEntry copy = new ZipEntry(entry.getName());
+            copy.setLastModifiedTime(entry.getLastModifiedTime());
+            if (entry.getLastAccessTime() != null) {
+                copy.setLastAccessTime(entry.getLastAccessTime());
+            }
+            if (entry.getCreationTime() != null) {
+                copy.setCreationTime(entry.getCreationTime());
+            }
+            copy.setComment(entry.getComment());
+            copy.setExtra(entry.getExtra());
+            if (entry.getMethod() == ZipEntry.STORED) {
+                // 변환 전후의 길이가 같으므로 크기는 원본 그대로
+                copy.setMethod(ZipEntry.STORED);
+                copy.setSize(entry.getSize());
+                copy.setCompressedSize(entry.getSize());
+                copy.setCrc(entry.isDirectory() ? 0 : (Long) take());
+            }
+            out.putNextEntry(copy);
+            long total = 0;
+            Object item;
+            while ((item = take()) != END) {
+                byte[] chunk = (byte[]) item;
+                out.write(chunk);
+                total += chunk.length;
+            }
+            out.closeEntry();
+            return total;
+        }
+
+        void abandon() {
+            abandoned = true;
+            queue.clear();
+        }
+
+        private void put(Object item) throws InterruptedIOException {
+            if (abandoned) {
+                throw new InterruptedIOException("zip transform abandoned");
+            }
+            try {
+                queue.put(item);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("zip transform interrupted");
+            }
+        }
+
+        private Object take() throws IOException {
+            Object item;
+            try {
+                item = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("zip transform interrupted");
+            }
+            if (item instanceof IOException) {
+                throw new IOException(entry.getName() + ": " + ((IOException) item).getMessage(), (IOException) item);
+            } else if (item instanceof RuntimeException) {
+                throw (RuntimeException) item;
+            }
+            return item;
+        }
+
+        /** 변환기가 쓴 바이트를 조각으로 복사해 파이프에 넣습니다. */
+        private final class ChunkOutputStream extends OutputStream {
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                while (len > 0) {
+                    int n = Math.min(len, CHUNK_SIZE);
+                    byte[] chunk = new byte[n];
+                    System.arraycopy(b, off, chunk, 0, n);
+                    put(chunk);
+                    off += n;
+                    len -= n;
+                }
+            }
+        }
+    }
+}
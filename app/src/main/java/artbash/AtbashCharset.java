@@ -0,0 +1,114 @@
+package artbash;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 디코딩/인코딩과 동시에 아트배쉬 변환을 적용하는 UTF-8 문자셋 {@value #NAME}입니다.
+ * 이 문자셋으로 읽으면 변환된 텍스트가, 이 문자셋으로 쓰면 변환된 UTF-8 바이트가 나오므로
+ * 읽은 뒤 다시 {@link AtbashCipher#transform(String)}을 호출하는 두 번째 단계와 중간 문자열이 필요 없습니다.
+ * <pre>
+ * Files.readString(path, Charset.forName("x-atbash-utf-8"));
+ * new InputStreamReader(in, AtbashCharset.INSTANCE);
+ * </pre>
+ * {@link AtbashCharsetProvider}가 등록되어 있으므로 클래스패스에 있으면 {@link Charset#forName(String)}으로도 찾을 수 있습니다.
+ * 잘못된 UTF-8 시퀀스는 표준 UTF-8 문자셋과 똑같이 보고되거나 대체됩니다.
+ */
+public final class AtbashCharset extends Charset {
+
+    public static final String NAME = "x-atbash-utf-8";
+
+    public static final AtbashCharset INSTANCE = new AtbashCharset();
+
+    private AtbashCharset() {
+        super(NAME, new String[]{"x-atbash", "atbash-utf-8"});
+    }
+
+    @Override
+    public boolean contains(Charset cs) {
+        // UTF-8로 표현할 수 있는 모든 문자를 표현할 수 있음
+        return cs instanceof AtbashCharset || StandardCharsets.UTF_8.contains(cs);
+    }
+
+    @Override
+    public CharsetDecoder newDecoder() {
+        return new Decoder(this);
+    }
+
+    @Override
+    public CharsetEncoder newEncoder() {
+        return new Encoder(this);
+    }
+
+    /**
+     * UTF-8 디코더로 문자를 만든 직후, 방금 쓴 구간을 출력 버퍼 안에서 변환합니다.
+     */
+    private static final class Decoder extends CharsetDecoder {
+        private final CharsetDecoder utf8 = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+
+        Decoder(Charset cs) {
+            super(cs, 1.0f, 1.0f);
+        }
+
+        @Override
+        protected CoderResult decodeLoop(ByteBuffer in, CharBuffer out) {
+            int start = out.position();
+            // 오류 처리는 이 디코더의 설정을 따르도록 내부 디코더는 오류를 보고만 함
+            CoderResult result = utf8.decode(in, out, false);
+            int end = out.position();
+            if (out.hasArray()) {
+                AtbashCipher.transformInPlace(out.array(), out.arrayOffset() + start, end - start);
+            } else {
+                for (int i = start; i < end; i++) {
+                    out.put(i, AtbashCipher.transform(out.get(i)));
+                }
+            }
+            return result;
+        }
+
+        @Override
+        protected void implReset() {
+            utf8.reset();
+        }
+    }
+
+    /**
+     * UTF-8 인코더로 바이트를 만든 직후, 방금 쓴 구간을 출력 버퍼 안에서 바이트 단위로 변환합니다.
+     * 인코더는 완전한 시퀀스만 쓰고 변환 전후의 길이가 같으므로 구간 경계를 따로 맞출 필요가 없습니다.
+     */
+    private static final class Encoder extends CharsetEncoder {
+        private final CharsetEncoder utf8 = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+
+        Encoder(Charset cs) {
+            super(cs, 1.1f, 3.0f);
+        }
+
+        @Override
+        protected CoderResult encodeLoop(CharBuffer in, ByteBuffer out) {
+            int start = out.position();
+            CoderResult result = utf8.encode(in, out, false);
+            int end = out.position();
+            if (out.hasArray()) {
+                AtbashUtf8.transform(out.array(), out.arrayOffset() + start, out.arrayOffset() + end, true);
+            } else {
+                AtbashUtf8.transform(out, out, start, end, true);
+            }
+            return result;
+        }
+
+        @Override
+        protected void implReset() {
+            utf8.reset();
+        }
+    }
+}
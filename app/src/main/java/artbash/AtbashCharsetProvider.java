@@ -0,0 +1,31 @@
+package artbash;
+
+import java.nio.charset.Charset;
+import java.nio.charset.spi.CharsetProvider;
+import java.util.Collections;
+import java.util.Iterator;
+
+/**
+ * {@link AtbashCharset}을 {@link Charset#forName(String)}에 등록하는 문자셋 공급자입니다.
+ * {@code META-INF/services/java.nio.charset.spi.CharsetProvider}로 등록되며, 시스템 클래스 로더에서만 검색됩니다.
+ */
+public final class AtbashCharsetProvider extends CharsetProvider {
+
+    @Override
+    public Iterator<Charset> charsets() {
+        return Collections.<Charset>singletonList(AtbashCharset.INSTANCE).iterator();
+    }
+
+    @Override
+    public Charset charsetForName(String charsetName) {
+        if (AtbashCharset.INSTANCE.name().equalsIgnoreCase(charsetName)) {
+            return AtbashCharset.INSTANCE;
+        }
+        for (String alias : AtbashCharset.INSTANCE.aliases()) {
+            if (alias.equalsIgnoreCase(charsetName)) {
+                return AtbashCharset.INSTANCE;
+            }
+        }
+        return null;
+    }
+}
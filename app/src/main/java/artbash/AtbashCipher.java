@@ -0,0 +1,265 @@
+package artbash;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.BufferOverflowException;
+import java.nio.CharBuffer;
+import java.util.Objects;
+
+import artbash.AtbashEvents.TransformEvent;
+
+public class AtbashCipher {
+
+    /**
+     * UTF-16 코드 유닛 전체(U+0000 ~ U+FFFF)에 대한 아트배쉬 변환 테이블입니다.
+     * 영문 대/소문자와 한글 음절(U+AC00 ~ U+D7A3)은 뒤집힌 문자로, 그 외 문자는 자기 자신으로 매핑됩니다.
+     * 서로게이트(U+D800 ~ U+DFFF)도 자기 자신으로 매핑되므로 코드 유닛 단위로 변환해도 안전합니다.
+     * 테이블은 {@link AlphabetCipher#ATBASH} 프리셋에서 가져오며, 이 클래스는 그 위에 벡터 경로와
+     * UTF-8 바이트 경로를 더합니다.
+     */
+    private static final char[] TABLE = AlphabetCipher.ATBASH.table();
+
+    /** 스트리밍 변환에 사용하는 고정 버퍼 크기 */
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    /** 이 길이 이상인 구간만 벡터 엔진으로 처리 (짧은 입력은 스칼라 경로가 더 빠름) */
+    private static final int VECTOR_THRESHOLD = 64;
+
+    /**
+     * 벡터 엔진 사용 여부입니다. {@code --add-modules jdk.incubator.vector}로 실행되어 모듈이 로드된 경우에만
+     * 켜지며, {@code -Datbash.vector=false}로 끌 수 있습니다.
+     */
+    static final boolean VECTORIZED = detectVectorSupport();
+
+    private static boolean detectVectorSupport() {
+        if (!Boolean.parseBoolean(System.getProperty("atbash.vector", "true"))
+                || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return false;
+        }
+        try {
+            Class.forName("artbash.AtbashVectorEngine", true, AtbashCipher.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * 문자 하나에 대해 아트배쉬 변환을 수행합니다.
+     *
+     * @param character 변환할 문자
+     * @return 변환된 문자 (대상이 아닌 문자는 그대로 반환)
+     */
+    public static char transform(char character) {
+        return TABLE[character];
+    }
+
+    /**
+     * 입력된 문자열에 대해 아트배쉬 변환을 수행합니다.
+     * 암호화와 복호화에 동일하게 사용될 수 있습니다.
+     *
+     * @param text 변환할 원본 문자열
+     * @return 아트배쉬 변환이 적용된 문자열
+     */
+    public static String transform(String text) {
+        if (text == null) {
+            return null;
+        }
+
+        TransformEvent event = new TransformEvent();
+        event.begin();
+
+        // 입력 길이와 정확히 같은 배열에 복사한 뒤 테이블 조회로 제자리 변환
+        char[] result = new char[text.length()];
+        text.getChars(0, result.length, result, 0);
+        transformInPlace(result, 0, result.length);
+        String transformed = new String(result);
+
+        if (event.shouldCommit()) {
+            event.source = "String";
+            event.characters = result.length;
+            event.commit();
+        }
+        return transformed;
+    }
+
+    /**
+     * Reader에서 읽은 문자를 변환하여 Writer로 씁니다.
+     * 고정 크기 버퍼만 사용하므로 입력 크기와 관계없이 메모리 사용량이 일정합니다.
+     * 서로게이트는 변환되지 않으므로 버퍼 경계에서 서로게이트 쌍이 나뉘어도 결과는 같습니다.
+     * 스트림은 닫지 않습니다.
+     *
+     * @param in  원본 문자 스트림
+     * @param out 변환된 문자를 쓸 스트림
+     * @return 변환한 문자 수
+     * @throws IOException 읽기 또는 쓰기 중 오류가 발생한 경우
+     */
+    public static long transform(Reader in, Writer out) throws IOException {
+        TransformEvent event = new TransformEvent();
+        event.begin();
+        char[] buffer = new char[STREAM_BUFFER_SIZE];
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            transformInPlace(buffer, 0, read);
+            out.write(buffer, 0, read);
+            total += read;
+        }
+        if (event.shouldCommit()) {
+            event.source = "Reader";
+            event.characters = total;
+            event.commit();
+        }
+        return total;
+    }
+
+    /**
+     * UTF-8 InputStream에서 읽은 바이트를 디코딩 없이 변환하여 OutputStream으로 씁니다.
+     * 버퍼 경계에서 잘린 멀티바이트 시퀀스는 다음 읽기와 이어 붙여 처리합니다.
+     * 스트림은 닫지 않습니다.
+     *
+     * @param in  UTF-8로 인코딩된 원본 스트림
+     * @param out 변환된 UTF-8 바이트를 쓸 스트림
+     * @return 변환한 바이트 수
+     * @throws IOException 읽기 또는 쓰기 중 오류가 발생한 경우
+     */
+    public static long transform(InputStream in, OutputStream out) throws IOException {
+        return transform(in, out, new byte[STREAM_BUFFER_SIZE]);
+    }
+
+    /**
+     * 호출자가 준 버퍼로 UTF-8 스트림을 변환합니다. 버퍼는 최소 3바이트여야 합니다.
+     */
+    static long transform(InputStream in, OutputStream out, byte[] buffer) throws IOException {
+        TransformEvent event = new TransformEvent();
+        event.begin();
+        long total = 0;
+        int pending = 0;
+        int read;
+        while ((read = in.read(buffer, pending, buffer.length - pending)) != -1) {
+            int end = pending + read;
+            int done = AtbashUtf8.transform(buffer, 0, end, false);
+            out.write(buffer, 0, done);
+            total += done;
+            // 잘린 시퀀스(최대 2바이트)를 버퍼 앞으로 옮겨 다음 읽기와 이어 붙임
+            pending = end - done;
+            System.arraycopy(buffer, done, buffer, 0, pending);
+        }
+        if (pending > 0) {
+            AtbashUtf8.transform(buffer, 0, pending, true);
+            out.write(buffer, 0, pending);
+            total += pending;
+        }
+        if (event.shouldCommit()) {
+            event.source = "InputStream";
+            event.bytes = total;
+            event.commit();
+        }
+        return total;
+    }
+
+    /**
+     * 원본 배열의 구간을 변환하여 대상 배열에 씁니다. 새 객체를 만들지 않습니다.
+     * 같은 배열의 겹치는 구간을 지정해도 {@link System#arraycopy}처럼 올바르게 동작합니다.
+     *
+     * @param src       원본 문자 배열
+     * @param srcOffset 원본에서 읽기 시작할 위치
+     * @param dst       변환된 문자를 쓸 배열
+     * @param dstOffset 대상에 쓰기 시작할 위치
+     * @param length    변환할 문자 수
+     * @throws IndexOutOfBoundsException 구간이 배열 범위를 벗어난 경우
+     */
+    public static void transform(char[] src, int srcOffset, char[] dst, int dstOffset, int length) {
+        Objects.checkFromIndexSize(srcOffset, length, src.length);
+        Objects.checkFromIndexSize(dstOffset, length, dst.length);
+        System.arraycopy(src, srcOffset, dst, dstOffset, length);
+        transformInPlace(dst, dstOffset, length);
+    }
+
+    /**
+     * 배열 전체를 제자리에서 변환합니다.
+     */
+    public static void transformInPlace(char[] chars) {
+        transformInPlace(chars, 0, chars.length);
+    }
+
+    /**
+     * 원본 버퍼의 남은 문자를 모두 변환하여 대상 버퍼에 씁니다.
+     * 두 버퍼의 위치는 {@link CharBuffer#put(CharBuffer)}와 같이 옮긴 문자 수만큼 앞으로 이동합니다.
+     * 힙 버퍼는 배열을 직접 변환하고, 그 외 버퍼는 문자 단위로 복사하므로 어느 쪽도 새 객체를 만들지 않습니다.
+     *
+     * @param src 원본 버퍼
+     * @param dst 변환된 문자를 쓸 버퍼
+     * @throws BufferOverflowException 대상 버퍼의 남은 공간이 부족한 경우 (두 버퍼 모두 바뀌지 않음)
+     */
+    public static void transform(CharBuffer src, CharBuffer dst) {
+        int length = src.remaining();
+        if (dst.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+        if (src.hasArray() && dst.hasArray() && !dst.isReadOnly()) {
+            transform(src.array(), src.arrayOffset() + src.position(),
+                    dst.array(), dst.arrayOffset() + dst.position(), length);
+            src.position(src.limit());
+            dst.position(dst.position() + length);
+            return;
+        }
+        char[] table = TABLE;
+        for (int i = 0; i < length; i++) {
+            dst.put(table[src.get()]);
+        }
+    }
+
+    /**
+     * 문자열의 변환 결과를 {@link Appendable}에 이어 붙입니다. {@link StringBuilder}나 {@link Writer}에 쓸 때
+     * 중간 배열이나 결과 문자열을 만들지 않습니다.
+     *
+     * @param text 변환할 문자열
+     * @param out  결과를 이어 붙일 대상
+     * @throws IOException 대상이 쓰기 중 오류를 보고한 경우
+     */
+    public static void transform(CharSequence text, Appendable out) throws IOException {
+        transform(text, 0, text.length(), out);
+    }
+
+    /**
+     * 문자열의 {@code start}부터 {@code end} 직전까지를 변환하여 {@link Appendable}에 이어 붙입니다.
+     *
+     * @throws IndexOutOfBoundsException 구간이 문자열 범위를 벗어난 경우
+     * @throws IOException               대상이 쓰기 중 오류를 보고한 경우
+     */
+    public static void transform(CharSequence text, int start, int end, Appendable out) throws IOException {
+        Objects.checkFromToIndex(start, end, text.length());
+        char[] table = TABLE;
+        for (int i = start; i < end; i++) {
+            out.append(table[text.charAt(i)]);
+        }
+    }
+
+    /**
+     * 배열의 지정된 구간을 제자리에서 변환합니다. 새 객체를 만들지 않습니다.
+     *
+     * @throws IndexOutOfBoundsException 구간이 배열 범위를 벗어난 경우
+     */
+    public static void transformInPlace(char[] chars, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, chars.length);
+        if (VECTORIZED && length >= VECTOR_THRESHOLD) {
+            AtbashVectorEngine.transformInPlace(chars, offset, length);
+        } else {
+            transformScalar(chars, offset, length);
+        }
+    }
+
+    /**
+     * 테이블 조회만 사용하는 스칼라 변환입니다. 벡터 엔진이 남은 꼬리 구간을 처리할 때도 사용합니다.
+     */
+    static void transformScalar(char[] chars, int offset, int length) {
+        char[] table = TABLE;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            chars[i] = table[chars[i]];
+        }
+    }
+}
@@ -0,0 +1,1529 @@
+package artbash;
+
+import java.awt.*;
+import java.awt.datatransfer.Clipboard;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.awt.event.KeyEvent;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.AbstractDocument;
+import javax.swing.text.AttributeSet;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.DocumentFilter;
+import javax.swing.filechooser.FileNameExtensionFilter;
+
+/**
+ * Atbash Cipher를 위한 간단한 GUI 툴입니다.
+ * 사용자는 텍스트를 입력하고 버튼을 눌러 암호화/복호화된 결과를 볼 수 있습니다.
+ */
+public class AtbashCipherGUI extends JFrame {
+
+    private enum Theme {
+        LIGHT(
+                new Color(245, 247, 249), // background
+                Color.WHITE,              // textAreaBg
+                new Color(235, 237, 239), // outputTextAreaBg
+                new Color(50, 50, 50),    // foreground
+                new Color(0, 123, 255),   // primaryButton
+                new Color(108, 117, 125), // secondaryButton
+                new Color(220, 223, 226)  // border
+        ),
+        DARK(
+                new Color(43, 43, 43),    // background
+                new Color(60, 63, 65),    // textAreaBg
+                new Color(50, 52, 54),    // outputTextAreaBg
+                new Color(220, 220, 220), // foreground
+                new Color(2, 117, 216),   // primaryButton
+                new Color(90, 98, 104),   // secondaryButton
+                new Color(80, 80, 80)     // border
+        );
+
+        final Color background;
+        final Color textAreaBg;
+        final Color outputTextAreaBg;
+        final Color foreground;
+        final Color primaryButton;
+        final Color secondaryButton;
+        final Color border;
+
+        Theme(Color background, Color textAreaBg, Color outputTextAreaBg, Color foreground, Color primaryButton, Color secondaryButton, Color border) {
+            this.background = background;
+            this.textAreaBg = textAreaBg;
+            this.outputTextAreaBg = outputTextAreaBg;
+            this.foreground = foreground;
+            this.primaryButton = primaryButton;
+            this.secondaryButton = secondaryButton;
+            this.border = border;
+        }
+    }
+
+    private enum ThemeMode {
+        LIGHT, DARK
+    }
+
+    private enum Language {
+        KOREAN, ENGLISH
+    }
+
+    private enum UIText {
+        WINDOW_TITLE("아트배쉬 암호화/복호화 툴 V2", "ArtBash Encryption/Decryption Tool V2"),
+        FILE_MENU("파일", "File"),
+        SAVE_MENU("저장...", "Save As..."),
+        LOAD_MENU("불러오기...", "Open..."),
+        FIND_MENU("암호문에서 찾기...", "Find in Ciphertext..."),
+        FIND_PROMPT("찾을 평문:", "Plaintext to find:"),
+        FIND_NOT_FOUND("찾을 수 없습니다: %s", "Not found: %s"),
+        FIND_RESULTS("\"%1$s\" 검색 결과 %2$,d개", "%2$,d matches for \"%1$s\""),
+        THEME_MENU("테마", "Theme"),
+        LIGHT_MODE_MENU("라이트 모드", "Light Mode"),
+        DARK_MODE_MENU("다크 모드", "Dark Mode"),
+        LANGUAGE_MENU("언어", "Language"),
+        OPTIONS_MENU("옵션", "Options"),
+        LIVE_TRANSFORM_MENU("실시간 변환", "Live Transform"),
+        KOREAN_MENU("한국어", "한국어"),
+        ENGLISH_MENU("English", "English"),
+        INPUT_LABEL("원본 텍스트", "Input Text"),
+        OUTPUT_LABEL("변환된 텍스트", "Output Text"),
+        TRANSFORM_BUTTON("변환", "Transform"),
+        CLEAR_BUTTON("초기화", "Clear"),
+        COPY_BUTTON("복사", "Copy"),
+        COPY_FEEDBACK("복사됨", "Copied"),
+        COPY_TRUNCATED_FEEDBACK("앞 %d MB만 복사됨", "Copied the first %d MB"),
+        CANCEL_BUTTON("취소", "Cancel"),
+        STATUS_LOAD("불러오기", "Load"),
+        LOAD_REPLACED("파일에 %s로 읽을 수 없는 바이트가 있어 대체 문자(\uFFFD)로 바꿨습니다. 저장하면 원래 바이트는 사라집니다.",
+                "The file has bytes that are not valid %s. They were replaced with \uFFFD and will be lost if you save."),
+        LOAD_REPLACED_TITLE("일부 바이트를 바꿈", "Some Bytes Replaced"),
+        STATUS_SAVE("저장", "Save"),
+        STATUS_CHARACTERS("%s %,d자 · %s · 초당 %s자", "%s %,d chars · %s · %s chars/s"),
+        STATUS_BYTES("%s %,d바이트 · %s · 초당 %s바이트", "%s %,d bytes · %s · %s bytes/s");
+
+        private final String korean;
+        private final String english;
+
+        UIText(String korean, String english) {
+            this.korean = korean;
+            this.english = english;
+        }
+
+        public String get(Language lang) {
+            return lang == Language.KOREAN ? korean : english;
+        }
+    }
+
+    private JTextArea inputTextArea;
+    private JTextArea outputTextArea;
+    private JButton transformButton;
+    private JButton clearButton;
+    private JButton copyButton;
+    private JButton cancelButton;
+    private JProgressBar progressBar;
+    private JLabel feedbackLabel;
+    // Size, duration and throughput of the last finished transform/load/save
+    private JLabel statusLabel;
+    private UIText lastOperation;
+    private long lastCount;
+    private boolean lastCountIsBytes;
+    private long lastElapsedNanos;
+    private MenuIcon saveIcon;
+    private MenuIcon loadIcon;
+    private Timer feedbackTimer;
+    // The transform/load/save task currently running off the EDT, if any
+    private SwingWorker<?, ?> activeWorker;
+    private final DocumentListener liveTransformListener = new LiveTransformListener();
+    // Shared by Open and Save; built in the background after startup and reused
+    private JFileChooser fileChooser;
+    // What the copy button last put on the clipboard; it reads the output lazily when pasted
+    private LazyTextSelection clipboardContents;
+
+    /** Number of characters transformed or read per published chunk. */
+    private static final int CHUNK_SIZE = 256 * 1024;
+
+    /** Most matches listed for one search of a large file. */
+    private static final int MAX_SEARCH_RESULTS = 1000;
+
+    /** Bytes of context shown on each side of a match. */
+    private static final int SEARCH_CONTEXT = 60;
+
+    /** Files at least this large are opened in the paged viewer instead of the text areas. */
+    private static final long LARGE_FILE_THRESHOLD = 32L * 1024 * 1024;
+
+    /** How much of a viewer file is copied where the clipboard converts at copy time (Windows, macOS). */
+    private static final long EAGER_COPY_LIMIT = 16L * 1024 * 1024;
+
+    // Viewer mode: the opened large file and the views that replace the text areas
+    private LargeTextFile largeFile;
+    private LargeFileView largeInputView;
+    private LargeFileView largeOutputView;
+
+    private JMenuBar menuBar;
+    private JPanel mainPanel;
+    private JPanel buttonPanel;
+    private JLabel inputLabel;
+    private JLabel outputLabel;
+    // Use custom RoundedScrollPane for rounded text areas
+    private RoundedScrollPane inputScrollPane;
+    private RoundedScrollPane outputScrollPane;
+    private JMenu fileMenu;
+    private JMenuItem saveMenuItem;
+    private JMenuItem loadMenuItem;
+    private JMenuItem findMenuItem;
+    // The last query, offered again the next time Find is chosen
+    private String lastQuery;
+    private JMenu themeMenu;
+    private JRadioButtonMenuItem lightMenuItem;
+    private JRadioButtonMenuItem darkMenuItem;
+    private JMenu languageMenu;
+    private JRadioButtonMenuItem koreanMenuItem;
+    private JRadioButtonMenuItem englishMenuItem;
+    private JMenu optionsMenu;
+    private JCheckBoxMenuItem liveTransformMenuItem;
+    private Language currentLanguage = Language.KOREAN;
+
+    public AtbashCipherGUI() {
+        initFrame();
+        initComponents();
+        initLayout();
+        initMenu();
+        initListeners();
+        setTheme(ThemeMode.LIGHT);
+        setLanguage(Language.KOREAN);
+    }
+
+    /**
+     * A custom JButton with rounded corners and a hover effect.
+     */
+    private static class RoundedButton extends JButton {
+        private final int cornerRadius;
+
+        public RoundedButton(String text, int radius) {
+            super(text);
+            this.cornerRadius = radius;
+            // We paint our own background, so disable the default painting
+            setContentAreaFilled(false);
+        }
+
+        // One cached background per state: normal, rollover, pressed
+        private final CachedRender[] backgrounds = {new CachedRender(), new CachedRender(), new CachedRender()};
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            boolean isPressed = getModel().isArmed();
+            int yOffset = isPressed ? 1 : 0;
+
+            // Determine the color for the top layer
+            Color topColor;
+            int state;
+            if (getModel().isRollover() && !isPressed) {
+                topColor = getBackground().brighter();
+                state = 1;
+            } else {
+                topColor = getBackground();
+                state = isPressed ? 2 : 0;
+            }
+            Color edgeColor = getBackground().darker();
+            int width = getWidth();
+            int height = getHeight();
+
+            backgrounds[state].paint(g, width, height, new Object[]{edgeColor, topColor, cornerRadius}, g2 -> {
+                // Draw the darker "bottom edge" layer.
+                g2.setColor(edgeColor);
+                g2.fillRoundRect(0, 0, width, height, cornerRadius, cornerRadius);
+
+                // Draw the main, top layer of the button.
+                // When not pressed, it's 1px shorter, revealing the bottom edge.
+                // When pressed, it's shifted down 1px and covers the edge.
+                g2.setColor(topColor);
+                g2.fillRoundRect(0, yOffset, width, height - 1 - yOffset, cornerRadius, cornerRadius);
+            });
+
+            // Let the superclass paint the text
+            super.paintComponent(g);
+        }
+    }
+
+    /**
+     * A custom JScrollPane with rounded corners.
+     * The view component (e.g., JTextArea) should be set to non-opaque for this to work correctly.
+     */
+    private static class RoundedScrollPane extends JScrollPane {
+        private final int cornerRadius;
+        private Color borderColor;
+
+        public RoundedScrollPane(Component view, int radius) {
+            super(view);
+            this.cornerRadius = radius;
+            // Make the scroll pane and its viewport transparent so we can paint our own background
+            setOpaque(false);
+            getViewport().setOpaque(false);
+            // Remove the default border, we'll paint our own
+            setBorder(BorderFactory.createEmptyBorder());
+        }
+
+        private final CachedRender background = new CachedRender();
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Color fillColor = getViewport().getView().getBackground();
+            Color strokeColor = borderColor;
+            int width = getWidth();
+            int height = getHeight();
+
+            // The scroll pane is not opaque, so the original paintComponent paints nothing of its own
+            // and the fill and border can be drawn together from one cached image
+            background.paint(g, width, height, new Object[]{fillColor, strokeColor, cornerRadius}, g2 -> {
+                // 1. Fill background with a semi-transparent color from the theme
+                g2.setColor(fillColor);
+                g2.fillRoundRect(0, 0, width, height, cornerRadius, cornerRadius);
+
+                // 2. Paint a slightly darker border
+                g2.setColor(strokeColor);
+                g2.drawRoundRect(0, 0, width - 1, height - 1, cornerRadius, cornerRadius);
+            });
+
+            super.paintComponent(g);
+        }
+
+        public void setBorderColor(Color color) {
+            this.borderColor = color;
+            repaint();
+        }
+    }
+
+    /**
+     * Caches an anti-aliased shape in a compatible (hardware-accelerated when possible) image and
+     * repaints it with a single blit. The image is redrawn only when the size, the screen scale or the
+     * key (colors and other parameters) change, so theme changes and resizes invalidate it on their own.
+     */
+    private static final class CachedRender {
+        private BufferedImage image;
+        private int width;
+        private int height;
+        private double scaleX;
+        private double scaleY;
+        private Object[] key;
+
+        void paint(Graphics g, int width, int height, Object[] key, Consumer<Graphics2D> painter) {
+            if (width <= 0 || height <= 0) {
+                return;
+            }
+            Graphics2D target = (Graphics2D) g;
+            // Render at device resolution so HiDPI screens stay sharp
+            AffineTransform transform = target.getTransform();
+            double sx = transform.getScaleX();
+            double sy = transform.getScaleY();
+            if (image == null || width != this.width || height != this.height
+                    || sx != scaleX || sy != scaleY || !Arrays.equals(key, this.key)) {
+                int imageWidth = (int) Math.ceil(width * sx);
+                int imageHeight = (int) Math.ceil(height * sy);
+                GraphicsConfiguration config = target.getDeviceConfiguration();
+                image = config.createCompatibleImage(imageWidth, imageHeight, Transparency.TRANSLUCENT);
+                Graphics2D g2 = image.createGraphics();
+                g2.scale(sx, sy);
+                g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                painter.accept(g2);
+                g2.dispose();
+                this.width = width;
+                this.height = height;
+                this.scaleX = sx;
+                this.scaleY = sy;
+                this.key = key;
+            }
+            g.drawImage(image, 0, 0, width, height, null);
+        }
+    }
+
+    /**
+     * A custom Icon implementation to draw menu icons programmatically.
+     */
+    private static class MenuIcon implements Icon {
+        enum IconType { SAVE, LOAD }
+
+        private final IconType type;
+        private Color color = Color.BLACK;
+        private static final int ICON_SIZE = 16;
+
+        public MenuIcon(IconType type) {
+            this.type = type;
+        }
+
+        public void setColor(Color color) {
+            this.color = color;
+        }
+
+        @Override
+        public void paintIcon(Component c, Graphics g, int x, int y) {
+            Graphics2D g2 = (Graphics2D) g.create();
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.setColor(this.color);
+            g2.setStroke(new BasicStroke(1.5f));
+
+            if (type == IconType.SAVE) {
+                // Downward arrow into a tray
+                g2.drawLine(x + 8, y + 2, x + 8, y + 10); // Arrow shaft
+                g2.drawLine(x + 5, y + 7, x + 8, y + 10); // Arrow left head
+                g2.drawLine(x + 11, y + 7, x + 8, y + 10); // Arrow right head
+                // Tray
+                g2.drawLine(x + 2, y + 13, x + 14, y + 13); // Bottom
+                g2.drawLine(x + 2, y + 10, x + 2, y + 13); // Left side
+                g2.drawLine(x + 14, y + 10, x + 14, y + 13); // Right side
+            } else if (type == IconType.LOAD) {
+                // Simple folder icon
+                g2.drawRect(x + 1, y + 3, ICON_SIZE - 3, ICON_SIZE - 5); // Folder back
+                g2.drawPolyline(new int[]{x, x, x + 5, x + 7, x + ICON_SIZE - 1, x + ICON_SIZE - 1},
+                                new int[]{y + ICON_SIZE - 2, y + 5, y + 5, y + 3, y + 3, y + ICON_SIZE - 2}, 6); // Folder front
+            }
+            g2.dispose();
+        }
+
+        @Override public int getIconWidth() { return ICON_SIZE; }
+        @Override public int getIconHeight() { return ICON_SIZE; }
+    }
+
+    private void initFrame() {
+        // Title is set by applyLanguage()
+        setSize(600, 500);
+        setMinimumSize(new Dimension(450, 350));
+        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        setLocationRelativeTo(null); // 창을 화면 중앙에 배치
+    }
+ 
+    private void initMenu() {
+        menuBar = new JMenuBar();
+
+        fileMenu = new JMenu();
+        saveMenuItem = new JMenuItem();
+        saveMenuItem.setIcon(saveIcon);
+        loadMenuItem = new JMenuItem();
+        loadMenuItem.setIcon(loadIcon);
+        fileMenu.add(loadMenuItem);
+        fileMenu.add(saveMenuItem);
+        findMenuItem = new JMenuItem();
+        findMenuItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_F,
+                Toolkit.getDefaultToolkit().getMenuShortcutKeyMaskEx()));
+        findMenuItem.addActionListener(e -> find());
+        fileMenu.addSeparator();
+        fileMenu.add(findMenuItem);
+
+        themeMenu = new JMenu();
+        ButtonGroup themeGroup = new ButtonGroup();
+
+        lightMenuItem = new JRadioButtonMenuItem();
+        lightMenuItem.setSelected(true);
+        lightMenuItem.addActionListener(e -> setTheme(ThemeMode.LIGHT));
+
+        darkMenuItem = new JRadioButtonMenuItem();
+        darkMenuItem.addActionListener(e -> setTheme(ThemeMode.DARK));
+
+        themeGroup.add(lightMenuItem);
+        themeGroup.add(darkMenuItem);
+        themeMenu.add(lightMenuItem);
+        themeMenu.add(darkMenuItem);
+
+        languageMenu = new JMenu();
+        ButtonGroup languageGroup = new ButtonGroup();
+
+        koreanMenuItem = new JRadioButtonMenuItem();
+        koreanMenuItem.setSelected(true);
+        koreanMenuItem.addActionListener(e -> setLanguage(Language.KOREAN));
+
+        englishMenuItem = new JRadioButtonMenuItem();
+        englishMenuItem.addActionListener(e -> setLanguage(Language.ENGLISH));
+
+        languageGroup.add(koreanMenuItem);
+        languageGroup.add(englishMenuItem);
+        languageMenu.add(koreanMenuItem);
+        languageMenu.add(englishMenuItem);
+
+        optionsMenu = new JMenu();
+        liveTransformMenuItem = new JCheckBoxMenuItem();
+        liveTransformMenuItem.addActionListener(e -> setLiveTransform(liveTransformMenuItem.isSelected()));
+        optionsMenu.add(liveTransformMenuItem);
+
+        menuBar.add(fileMenu);
+        menuBar.add(themeMenu);
+        menuBar.add(languageMenu);
+        menuBar.add(optionsMenu);
+
+        setJMenuBar(menuBar);
+    }
+
+    private void setTheme(ThemeMode mode) {
+        // Update radio button selection state
+        lightMenuItem.setSelected(mode == ThemeMode.LIGHT);
+        darkMenuItem.setSelected(mode == ThemeMode.DARK);
+
+        Theme themeToApply = (mode == ThemeMode.DARK) ? Theme.DARK : Theme.LIGHT;
+        applyTheme(themeToApply);
+    }
+
+    private void setLanguage(Language lang) {
+        this.currentLanguage = lang;
+        // Update radio button selection state
+        koreanMenuItem.setSelected(lang == Language.KOREAN);
+        englishMenuItem.setSelected(lang == Language.ENGLISH);
+
+        applyLanguage(lang);
+    }
+
+    private void applyLanguage(Language lang) {
+        setTitle(UIText.WINDOW_TITLE.get(lang));
+        fileMenu.setText(UIText.FILE_MENU.get(lang));
+        saveMenuItem.setText(UIText.SAVE_MENU.get(lang));
+        loadMenuItem.setText(UIText.LOAD_MENU.get(lang));
+        findMenuItem.setText(UIText.FIND_MENU.get(lang));
+        themeMenu.setText(UIText.THEME_MENU.get(lang));
+        lightMenuItem.setText(UIText.LIGHT_MODE_MENU.get(lang));
+        darkMenuItem.setText(UIText.DARK_MODE_MENU.get(lang));
+        languageMenu.setText(UIText.LANGUAGE_MENU.get(lang));
+        optionsMenu.setText(UIText.OPTIONS_MENU.get(lang));
+        liveTransformMenuItem.setText(UIText.LIVE_TRANSFORM_MENU.get(lang));
+        koreanMenuItem.setText(UIText.KOREAN_MENU.get(lang));
+        englishMenuItem.setText(UIText.ENGLISH_MENU.get(lang));
+        inputLabel.setText(UIText.INPUT_LABEL.get(lang));
+        outputLabel.setText(UIText.OUTPUT_LABEL.get(lang));
+        transformButton.setText(UIText.TRANSFORM_BUTTON.get(lang));
+        clearButton.setText(UIText.CLEAR_BUTTON.get(lang));
+        copyButton.setText(UIText.COPY_BUTTON.get(lang));
+        cancelButton.setText(UIText.CANCEL_BUTTON.get(lang));
+        // Clear feedback message on language change to avoid showing it in the wrong language
+        if (feedbackLabel != null) {
+            feedbackLabel.setText("");
+        }
+        updateStatusLabel();
+    }
+
+    private void applyTheme(Theme theme) {
+        AtbashEvents.ThemeEvent event = new AtbashEvents.ThemeEvent();
+        event.begin();
+
+        // Main Panel and Frame
+        getContentPane().setBackground(theme.background);
+        if (mainPanel != null) mainPanel.setBackground(theme.background);
+        if (buttonPanel != null) buttonPanel.setBackground(theme.background);
+
+        // Text Areas
+        inputTextArea.setBackground(theme.textAreaBg);
+        inputTextArea.setForeground(theme.foreground);
+        inputTextArea.setCaretColor(theme.foreground);
+        outputTextArea.setBackground(theme.outputTextAreaBg);
+        outputTextArea.setForeground(theme.foreground);
+        if (largeInputView != null) {
+            largeInputView.setBackground(theme.textAreaBg);
+            largeInputView.setForeground(theme.foreground);
+            largeOutputView.setBackground(theme.outputTextAreaBg);
+            largeOutputView.setForeground(theme.foreground);
+        }
+        if (inputScrollPane != null) inputScrollPane.setBorderColor(theme.border);
+        if (outputScrollPane != null) outputScrollPane.setBorderColor(theme.border);
+
+        // Labels
+        if (inputLabel != null) inputLabel.setForeground(theme.foreground);
+        if (outputLabel != null) outputLabel.setForeground(theme.foreground);
+        if (feedbackLabel != null) feedbackLabel.setForeground(theme.primaryButton);
+        if (statusLabel != null) statusLabel.setForeground(theme.secondaryButton);
+
+        // Icons
+        if (saveIcon != null) saveIcon.setColor(theme.foreground);
+        if (loadIcon != null) loadIcon.setColor(theme.foreground);
+        // Repaint menu bar to reflect icon color change
+        if (menuBar != null) menuBar.repaint();
+
+        // Buttons
+        configureFlatButton(transformButton, transformButton.getFont(), theme.primaryButton);
+        configureFlatButton(clearButton, clearButton.getFont(), theme.secondaryButton);
+        configureFlatButton(copyButton, copyButton.getFont(), theme.secondaryButton);
+        configureFlatButton(cancelButton, cancelButton.getFont(), theme.secondaryButton);
+        progressBar.setForeground(theme.primaryButton);
+
+        // Menu Bar
+        if (menuBar != null) menuBar.setBorder(BorderFactory.createMatteBorder(0, 0, 1, 0, theme.border));
+
+        // Only colors changed, so a repaint is enough; the look-and-feel delegates stay installed.
+        // The cached rounded backgrounds notice the new colors and redraw themselves once.
+        repaint();
+
+        if (event.shouldCommit()) {
+            event.theme = theme.name();
+            event.components = countComponents(this);
+            event.commit();
+        }
+    }
+
+    private static int countComponents(Container container) {
+        int count = 1;
+        for (Component child : container.getComponents()) {
+            count += child instanceof Container ? countComponents((Container) child) : 1;
+        }
+        return count;
+    }
+
+    private void initComponents() {
+        // Define a modern font
+        Font baseFont = new Font("SansSerif", Font.PLAIN, 14);
+ 
+        // Input Text Area
+        inputTextArea = new JTextArea();
+        inputTextArea.setFont(baseFont);
+        inputTextArea.setLineWrap(true);
+        inputTextArea.setWrapStyleWord(true);
+        inputTextArea.setBorder(BorderFactory.createEmptyBorder(8, 8, 8, 8)); // Inner padding
+        inputTextArea.setOpaque(false); // Crucial for rounded corners to show through
+ 
+        // Output Text Area
+        outputTextArea = new JTextArea();
+        outputTextArea.setFont(baseFont);
+        outputTextArea.setLineWrap(true);
+        outputTextArea.setWrapStyleWord(true);
+        outputTextArea.setEditable(false);
+        outputTextArea.setBorder(BorderFactory.createEmptyBorder(8, 8, 8, 8)); // Inner padding
+        outputTextArea.setOpaque(false); // Crucial for rounded corners to show through
+ 
+        // Buttons
+        transformButton = new RoundedButton("", 15);
+        clearButton = new RoundedButton("", 15);
+        copyButton = new RoundedButton("", 15);
+        cancelButton = new RoundedButton("", 15);
+        cancelButton.setVisible(false);
+
+        // Progress of background transform/load/save tasks, hidden while idle
+        progressBar = new JProgressBar(0, 100);
+        progressBar.setStringPainted(true);
+        progressBar.setVisible(false);
+
+        // Feedback Label
+        feedbackLabel = new JLabel();
+        feedbackLabel.setFont(new Font("SansSerif", Font.BOLD, 13));
+
+        // Status Label
+        statusLabel = new JLabel();
+        statusLabel.setFont(new Font("SansSerif", Font.PLAIN, 12));
+
+        // Icons
+        saveIcon = new MenuIcon(MenuIcon.IconType.SAVE);
+        loadIcon = new MenuIcon(MenuIcon.IconType.LOAD);
+    }
+
+    private void configureFlatButton(JButton button, Font font, Color backgroundColor) {
+        button.setFont(font);
+        button.setBackground(backgroundColor);
+        button.setForeground(Color.WHITE);
+        button.setFocusPainted(false);
+        button.setBorderPainted(false);
+        button.setMargin(new Insets(8, 20, 8, 20));
+    }
+ 
+    private void initLayout() {
+        mainPanel = new JPanel(new GridBagLayout());
+        mainPanel.setBorder(BorderFactory.createEmptyBorder(15, 15, 15, 15)); // Outer padding
+        GridBagConstraints gbc = new GridBagConstraints();
+ 
+        // --- Row 0: Input Label ---
+        inputLabel = new JLabel();
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.gridwidth = 2;
+        gbc.anchor = GridBagConstraints.WEST;
+        gbc.insets = new Insets(0, 5, 5, 0);
+        mainPanel.add(inputLabel, gbc);
+ 
+        // --- Row 1: Input TextArea ---
+        inputScrollPane = new RoundedScrollPane(inputTextArea, 15);
+        gbc.gridy = 1;
+        gbc.fill = GridBagConstraints.BOTH;
+        gbc.weightx = 1.0;
+        gbc.weighty = 1.0;
+        gbc.insets = new Insets(0, 0, 10, 0);
+        mainPanel.add(inputScrollPane, gbc);
+ 
+        // --- Row 2: Output Label ---
+        outputLabel = new JLabel();
+        gbc.gridy = 2;
+        gbc.fill = GridBagConstraints.NONE;
+        gbc.weighty = 0.0;
+        gbc.insets = new Insets(0, 5, 5, 0);
+        mainPanel.add(outputLabel, gbc);
+ 
+        // --- Row 3: Output TextArea ---
+        outputScrollPane = new RoundedScrollPane(outputTextArea, 15);
+        gbc.gridy = 3;
+        gbc.fill = GridBagConstraints.BOTH;
+        gbc.weighty = 1.0;
+        gbc.insets = new Insets(0, 0, 15, 0);
+        mainPanel.add(outputScrollPane, gbc);
+ 
+        // --- Row 4: Bottom Panel (Feedback + Buttons) ---
+        JPanel bottomPanel = new JPanel(new BorderLayout(10, 0));
+        bottomPanel.setOpaque(false); // Inherit background from mainPanel
+
+        feedbackLabel.setHorizontalAlignment(SwingConstants.LEFT);
+        feedbackLabel.setBorder(BorderFactory.createEmptyBorder(0, 5, 0, 0)); // Padding
+        bottomPanel.add(feedbackLabel, BorderLayout.WEST);
+        bottomPanel.add(statusLabel, BorderLayout.CENTER);
+
+        buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
+        buttonPanel.setOpaque(false); // Inherit background from mainPanel
+        buttonPanel.add(progressBar);
+        buttonPanel.add(cancelButton);
+        buttonPanel.add(copyButton);
+        buttonPanel.add(clearButton);
+        buttonPanel.add(transformButton);
+        bottomPanel.add(buttonPanel, BorderLayout.EAST);
+ 
+        gbc.gridy = 4;
+        gbc.gridwidth = 2;
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        gbc.weighty = 0.0;
+        gbc.anchor = GridBagConstraints.CENTER;
+        gbc.insets = new Insets(0, 0, 0, 0);
+        mainPanel.add(bottomPanel, gbc);
+ 
+        add(mainPanel);
+    }
+ 
+    private void initListeners() {
+        transformButton.addActionListener(e -> {
+            if (largeFile != null) {
+                // The output view transforms the visible lines on demand
+                outputScrollPane.setViewportView(largeOutputView);
+                return;
+            }
+            String inputText = inputTextArea.getText();
+            outputTextArea.setText("");
+            startWorker(new TransformWorker(inputText));
+        });
+
+        cancelButton.addActionListener(e -> {
+            if (activeWorker != null) {
+                activeWorker.cancel(true);
+            }
+        });
+ 
+        clearButton.addActionListener(e -> {
+            closeLargeFile();
+            inputTextArea.setText("");
+            outputTextArea.setText("");
+        });
+
+        // Copying doesn't copy the output; keep the clipboard contents as they were before the output changes
+        ((AbstractDocument) outputTextArea.getDocument()).setDocumentFilter(new DocumentFilter() {
+            @Override
+            public void insertString(FilterBypass fb, int offset, String string, AttributeSet attr) throws BadLocationException {
+                detachClipboardContents();
+                super.insertString(fb, offset, string, attr);
+            }
+
+            @Override
+            public void remove(FilterBypass fb, int offset, int length) throws BadLocationException {
+                detachClipboardContents();
+                super.remove(fb, offset, length);
+            }
+
+            @Override
+            public void replace(FilterBypass fb, int offset, int length, String text, AttributeSet attrs) throws BadLocationException {
+                detachClipboardContents();
+                super.replace(fb, offset, length, text, attrs);
+            }
+        });
+
+       copyButton.addActionListener(e -> {
+            LazyTextSelection selection = null;
+            String feedback = UIText.COPY_FEEDBACK.get(currentLanguage);
+            if (largeFile != null) {
+                // Transformed straight from the file when pasted, never held in memory. Clipboards
+                // that convert at copy time would read it all here, on the EDT, so cap what they get.
+                long limit = LazyTextSelection.PASTE_IS_LAZY ? Long.MAX_VALUE : EAGER_COPY_LIMIT;
+                selection = LazyTextSelection.ofTransformedFile(largeFile.getPath(), limit);
+                if (largeFile.size() > Math.min(limit, LazyTextSelection.MAX_STRING_BYTES)) {
+                    feedback = String.format(UIText.COPY_TRUNCATED_FEEDBACK.get(currentLanguage),
+                            Math.min(limit, LazyTextSelection.MAX_STRING_BYTES) >> 20);
+                }
+            } else if (outputTextArea.getDocument().getLength() > 0) {
+                selection = LazyTextSelection.of(outputTextArea.getDocument());
+            }
+            if (selection != null) {
+                Clipboard clipboard = Toolkit.getDefaultToolkit().getSystemClipboard();
+                clipboard.setContents(selection, selection);
+                detachClipboardContents();
+                clipboardContents = selection;
+
+                // Show feedback message
+                feedbackLabel.setText(feedback);
+
+                // Stop any existing timer to reset the hide delay
+                if (feedbackTimer != null && feedbackTimer.isRunning()) {
+                    feedbackTimer.stop();
+                }
+
+                // Create and start a timer to hide the message after 2 seconds
+                feedbackTimer = new Timer(2000, event -> feedbackLabel.setText(""));
+                feedbackTimer.setRepeats(false); // Ensure it only runs once
+                feedbackTimer.start();
+            }
+        });
+
+        saveMenuItem.addActionListener(e -> {
+            File fileToSave = chooseFile(true);
+
+            if (fileToSave != null) {
+                // Ensure the file has a .txt extension
+                if (!fileToSave.getName().toLowerCase().endsWith(".txt")) {
+                    fileToSave = new File(fileToSave.getParentFile(), fileToSave.getName() + ".txt");
+                }
+
+                if (largeFile != null) {
+                    progressBar.setIndeterminate(true);
+                    startWorker(new SaveLargeFileWorker(largeFile.getPath().toFile(), fileToSave));
+                } else {
+                    startWorker(new SaveWorker(fileToSave, outputTextArea.getText()));
+                }
+            }
+        });
+
+        loadMenuItem.addActionListener(e -> {
+            File fileToLoad = chooseFile(false);
+
+            if (fileToLoad != null) {
+                closeLargeFile();
+                if (fileToLoad.length() >= LARGE_FILE_THRESHOLD) {
+                    openLargeFile(fileToLoad);
+                    return;
+                }
+                inputTextArea.setText("");
+                // Clear the output area when loading new text
+                outputTextArea.setText("");
+                startWorker(new LoadWorker(fileToLoad));
+            }
+        });
+    }
+ 
+    /**
+     * Asks for a plaintext query and looks for it in the ciphertext without decrypting anything.
+     * Atbash is its own inverse, so the ciphertext of the query is simply its transform.
+     */
+    private void find() {
+        Object answer = JOptionPane.showInputDialog(this, UIText.FIND_PROMPT.get(currentLanguage),
+                UIText.FIND_MENU.get(currentLanguage), JOptionPane.PLAIN_MESSAGE, null, null, lastQuery);
+        if (answer == null || answer.toString().isEmpty()) {
+            return;
+        }
+        lastQuery = answer.toString();
+        if (largeFile != null) {
+            progressBar.setIndeterminate(true);
+            startWorker(new SearchWorker(largeFile, lastQuery));
+        } else {
+            findInText(lastQuery);
+        }
+    }
+
+    /**
+     * Finds the next occurrence after the caret in the input, wrapping around at the end, and
+     * selects it there and at the same offsets in the output, which is the input transformed.
+     */
+    private void findInText(String query) {
+        String cipherText = AtbashCipher.transform(query);
+        String input = inputTextArea.getText();
+        int index = input.indexOf(cipherText, inputTextArea.getSelectionEnd());
+        if (index < 0) {
+            index = input.indexOf(cipherText);
+        }
+        if (index < 0) {
+            JOptionPane.showMessageDialog(this, String.format(UIText.FIND_NOT_FOUND.get(currentLanguage), query),
+                    UIText.FIND_MENU.get(currentLanguage), JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        int end = index + cipherText.length();
+        inputTextArea.requestFocusInWindow();
+        inputTextArea.select(index, end);
+        if (outputTextArea.getDocument().getLength() == input.length()) {
+            outputTextArea.select(index, end);
+            outputTextArea.getCaret().setSelectionVisible(true);
+        }
+    }
+
+    /**
+     * Lists the matches of a large file search. Selecting one scrolls the viewer to its line.
+     */
+    private void showSearchResults(LargeTextFile file, String query, List<SearchResult> results) {
+        if (results.isEmpty()) {
+            JOptionPane.showMessageDialog(this, String.format(UIText.FIND_NOT_FOUND.get(currentLanguage), query),
+                    UIText.FIND_MENU.get(currentLanguage), JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        JList<SearchResult> list = new JList<>(results.toArray(new SearchResult[0]));
+        list.setFont(inputTextArea.getFont());
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        list.addListSelectionListener(e -> {
+            SearchResult selected = list.getSelectedValue();
+            if (e.getValueIsAdjusting() || selected == null || largeFile != file) {
+                return;
+            }
+            try {
+                largeInputView.scrollToLine(file.lineOf(selected.offset));
+                outputScrollPane.setViewportView(largeOutputView);
+            } catch (IOException ex) {
+                // Closed in the meantime; nothing to scroll to
+            }
+        });
+
+        String title = String.format(UIText.FIND_RESULTS.get(currentLanguage), query, results.size());
+        JDialog dialog = new JDialog(this, title, false);
+        dialog.add(new JScrollPane(list));
+        dialog.setSize(520, 320);
+        dialog.setLocationRelativeTo(this);
+        dialog.setVisible(true);
+    }
+
+    /**
+     * Builds the shared file chooser if it doesn't exist yet. Runs on the EDT, normally right
+     * after the background warm-up so the expensive first construction is already paid for.
+     */
+    private void prepareFileChooser() {
+        if (fileChooser == null) {
+            fileChooser = new JFileChooser();
+            fileChooser.setFileFilter(new FileNameExtensionFilter("Text Files (*.txt)", "txt"));
+        }
+    }
+
+    /**
+     * Shows the Save or Open dialog and measures how long it takes to appear.
+     *
+     * @return the chosen file, or null if the dialog was cancelled
+     */
+    private File chooseFile(boolean save) {
+        boolean reused = fileChooser != null;
+        String dialog = save ? "Save" : "Open";
+        AtbashEvents.FileDialogEvent event = new AtbashEvents.FileDialogEvent();
+        event.begin();
+        long requested = System.nanoTime();
+
+        prepareFileChooser();
+        HierarchyListener shownListener = new HierarchyListener() {
+            @Override
+            public void hierarchyChanged(HierarchyEvent e) {
+                if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 && fileChooser.isShowing()) {
+                    fileChooser.removeHierarchyListener(this);
+                    AtbashStartup.fileDialogShown(dialog, System.nanoTime() - requested, reused);
+                    if (event.shouldCommit()) {
+                        event.dialog = dialog;
+                        event.reused = reused;
+                        event.commit();
+                    }
+                }
+            }
+        };
+        fileChooser.addHierarchyListener(shownListener);
+        fileChooser.setDialogTitle((save ? UIText.SAVE_MENU : UIText.LOAD_MENU).get(currentLanguage));
+
+        int userSelection = save ? fileChooser.showSaveDialog(this) : fileChooser.showOpenDialog(this);
+        fileChooser.removeHierarchyListener(shownListener);
+        return userSelection == JFileChooser.APPROVE_OPTION ? fileChooser.getSelectedFile() : null;
+    }
+
+    /**
+     * Called before the output document changes. If the clipboard still reads from it, the
+     * clipboard takes its own copy now; the copy is only ever made when it is actually needed.
+     */
+    private void detachClipboardContents() {
+        if (clipboardContents != null) {
+            clipboardContents.detach();
+            clipboardContents = null;
+        }
+    }
+
+    /**
+     * Runs a transform/load/save task in the background.
+     * While it runs, the progress bar and cancel button are shown and the controls that would
+     * start another task or edit the input are disabled.
+     */
+    private void startWorker(SwingWorker<?, ?> worker) {
+        if (activeWorker != null && !activeWorker.isDone()) {
+            return;
+        }
+        activeWorker = worker;
+        worker.addPropertyChangeListener(event -> {
+            if ("progress".equals(event.getPropertyName())) {
+                progressBar.setValue((Integer) event.getNewValue());
+            } else if ("state".equals(event.getPropertyName()) && worker.isDone()) {
+                setBusy(false);
+            }
+        });
+        progressBar.setValue(0);
+        setBusy(true);
+        worker.execute();
+    }
+
+    /**
+     * Turns live mode on or off. In live mode every edit of the input is applied to the same
+     * range of the output as it happens, so the cost of an edit is proportional to its size.
+     */
+    private void setLiveTransform(boolean enabled) {
+        Document input = inputTextArea.getDocument();
+        input.removeDocumentListener(liveTransformListener);
+        if (enabled) {
+            // Bring the output in sync once; from here on only the edited ranges are updated
+            outputTextArea.setText(AtbashCipher.transform(inputTextArea.getText()));
+            input.addDocumentListener(liveTransformListener);
+        }
+    }
+
+    /**
+     * Mirrors insertions and removals in the input document onto the output document.
+     * Atbash maps each character on its own, so offsets in both documents always line up.
+     */
+    private final class LiveTransformListener implements DocumentListener {
+        @Override
+        public void insertUpdate(DocumentEvent e) {
+            try {
+                String inserted = e.getDocument().getText(e.getOffset(), e.getLength());
+                outputTextArea.getDocument().insertString(e.getOffset(), AtbashCipher.transform(inserted), null);
+            } catch (BadLocationException ex) {
+                resyncLiveOutput();
+            }
+        }
+
+        @Override
+        public void removeUpdate(DocumentEvent e) {
+            try {
+                outputTextArea.getDocument().remove(e.getOffset(), e.getLength());
+            } catch (BadLocationException ex) {
+                resyncLiveOutput();
+            }
+        }
+
+        @Override
+        public void changedUpdate(DocumentEvent e) {
+            // Attribute changes only; plain text documents have none
+        }
+    }
+
+    private void resyncLiveOutput() {
+        outputTextArea.setText(AtbashCipher.transform(inputTextArea.getText()));
+    }
+
+    /**
+     * Opens a large file in viewer mode. Only the visible lines are read from disk, and the
+     * line index is built in the background while the first page is already shown.
+     */
+    private void openLargeFile(File file) {
+        try {
+            largeFile = new LargeTextFile(file.toPath());
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(this,
+                    "Error loading file: " + ex.getMessage(),
+                    "Load Error",
+                    JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        inputTextArea.setText("");
+        outputTextArea.setText("");
+
+        // Both views share one scroll model so the output follows the input
+        BoundedRangeModel scrollModel = new DefaultBoundedRangeModel();
+        largeInputView = new LargeFileView(largeFile, scrollModel, false);
+        largeOutputView = new LargeFileView(largeFile, scrollModel, true);
+        for (LargeFileView view : new LargeFileView[]{largeInputView, largeOutputView}) {
+            view.setFont(inputTextArea.getFont());
+            view.setForeground(inputTextArea.getForeground());
+        }
+        largeInputView.setBackground(inputTextArea.getBackground());
+        largeOutputView.setBackground(outputTextArea.getBackground());
+        inputScrollPane.setViewportView(largeInputView);
+        liveTransformMenuItem.setEnabled(false);
+
+        startWorker(new IndexWorker(largeFile));
+    }
+
+    /**
+     * Leaves viewer mode and puts the text areas back.
+     */
+    private void closeLargeFile() {
+        if (largeFile == null) {
+            return;
+        }
+        try {
+            largeFile.close();
+        } catch (IOException ex) {
+            // Only a read-only channel; nothing to recover
+        }
+        largeFile = null;
+        largeInputView = null;
+        largeOutputView = null;
+        inputScrollPane.setViewportView(inputTextArea);
+        outputScrollPane.setViewportView(outputTextArea);
+        liveTransformMenuItem.setEnabled(activeWorker == null || activeWorker.isDone());
+    }
+
+    private void setBusy(boolean busy) {
+        progressBar.setVisible(busy);
+        if (!busy) {
+            progressBar.setIndeterminate(false);
+        }
+        cancelButton.setVisible(busy);
+        transformButton.setEnabled(!busy);
+        clearButton.setEnabled(!busy);
+        copyButton.setEnabled(!busy);
+        saveMenuItem.setEnabled(!busy);
+        loadMenuItem.setEnabled(!busy);
+        findMenuItem.setEnabled(!busy);
+        // Turning live mode on rewrites the whole output, which a running transform is still appending to
+        liveTransformMenuItem.setEnabled(!busy && largeFile == null);
+        inputTextArea.setEditable(!busy);
+        buttonPanel.revalidate();
+    }
+
+    /**
+     * Shows the error of a finished task, if any. Cancellation is not an error.
+     *
+     * @return true if the task completed normally
+     */
+    private boolean reportFailure(SwingWorker<?, ?> worker, String message, String title) {
+        try {
+            worker.get();
+            return true;
+        } catch (CancellationException | InterruptedException ex) {
+            // Cancelled by the user; nothing to report
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            JOptionPane.showMessageDialog(this,
+                    message + cause.getMessage(),
+                    title,
+                    JOptionPane.ERROR_MESSAGE);
+        }
+        return false;
+    }
+
+    /**
+     * Records a finished operation and shows its size, duration and throughput in the status bar.
+     */
+    private void showStatus(UIText operation, long count, boolean bytes, long elapsedNanos) {
+        lastOperation = operation;
+        lastCount = count;
+        lastCountIsBytes = bytes;
+        lastElapsedNanos = elapsedNanos;
+        updateStatusLabel();
+    }
+
+    private void updateStatusLabel() {
+        if (statusLabel == null || lastOperation == null) {
+            return;
+        }
+        double seconds = Math.max(lastElapsedNanos, 1) / 1e9;
+        String elapsed = seconds < 1 ? String.format("%.1f ms", seconds * 1e3) : String.format("%.2f s", seconds);
+        UIText format = lastCountIsBytes ? UIText.STATUS_BYTES : UIText.STATUS_CHARACTERS;
+        statusLabel.setText(String.format(format.get(currentLanguage),
+                lastOperation.get(currentLanguage), lastCount, elapsed, formatRate(lastCount / seconds)));
+    }
+
+    /** Formats a per-second rate compactly, e.g. 950, 12.3K, 1.4G. */
+    private static String formatRate(double rate) {
+        if (rate < 1e3) {
+            return String.format("%.0f", rate);
+        } else if (rate < 1e6) {
+            return String.format("%.1fK", rate / 1e3);
+        } else if (rate < 1e9) {
+            return String.format("%.1fM", rate / 1e6);
+        }
+        return String.format("%.1fG", rate / 1e9);
+    }
+
+    /**
+     * Transforms the input in chunks and appends each chunk to the output area as it is ready.
+     */
+    private final class TransformWorker extends SwingWorker<Void, String> {
+        private final String input;
+        private long elapsedNanos;
+
+        TransformWorker(String input) {
+            this.input = input;
+        }
+
+        @Override
+        protected Void doInBackground() {
+            AtbashEvents.TransformEvent event = new AtbashEvents.TransformEvent();
+            event.begin();
+            long start = System.nanoTime();
+            int length = input.length();
+            int done = 0;
+            char[] buffer = new char[Math.min(CHUNK_SIZE, length)];
+            while (done < length && !isCancelled()) {
+                int end = Math.min(done + CHUNK_SIZE, length);
+                input.getChars(done, end, buffer, 0);
+                AtbashCipher.transformInPlace(buffer, 0, end - done);
+                publish(new String(buffer, 0, end - done));
+                done = end;
+                setProgress((int) (100L * end / length));
+            }
+            elapsedNanos = System.nanoTime() - start;
+            if (event.shouldCommit()) {
+                event.source = "GUI";
+                event.characters = done;
+                event.commit();
+            }
+            return null;
+        }
+
+        @Override
+        protected void process(List<String> chunks) {
+            if (isCancelled()) {
+                return;
+            }
+            for (String chunk : chunks) {
+                outputTextArea.append(chunk);
+            }
+        }
+
+        @Override
+        protected void done() {
+            if (!isCancelled()) {
+                showStatus(UIText.TRANSFORM_BUTTON, input.length(), false, elapsedNanos);
+            }
+        }
+    }
+
+    /**
+     * Detects the charset of a file, reads it in chunks and appends each chunk to the input area.
+     * The charset is guessed from the start of the file only, so if a later part turns out not to
+     * be valid, the file is read again from the start with the bad bytes replaced.
+     */
+    private final class LoadWorker extends SwingWorker<Void, String> {
+        /** Published before a re-read; tells {@link #process} to clear what was appended so far. Compared by identity. */
+        private final String restart = new String("");
+
+        private final File file;
+        private Charset charset;
+        private boolean replaced;
+        private long characters;
+        private long elapsedNanos;
+
+        LoadWorker(File file) {
+            this.file = file;
+        }
+
+        @Override
+        protected Void doInBackground() throws IOException {
+            AtbashEvents.LoadEvent event = new AtbashEvents.LoadEvent();
+            event.begin();
+            long start = System.nanoTime();
+            long size = Math.max(1, file.length());
+            long[] bytesRead = new long[1];
+            LongConsumer onProgress = position -> {
+                if (isCancelled()) {
+                    throw new CancellationException();
+                }
+                bytesRead[0] = position;
+                setProgress((int) Math.min(100, 100 * position / size));
+            };
+            try {
+                charset = AtbashTextFiles.detect(file.toPath());
+                try {
+                    characters = AtbashTextFiles.read(file.toPath(), charset, this::publish, onProgress);
+                } catch (CharacterCodingException e) {
+                    // Valid at the start but not further on: start over and replace only the bad bytes
+                    publish(restart);
+                    replaced = true;
+                    characters = AtbashTextFiles.read(file.toPath(), charset, CodingErrorAction.REPLACE,
+                            this::publish, onProgress);
+                }
+            } catch (CancellationException e) {
+                // Keep what was loaded so far
+            } finally {
+                elapsedNanos = System.nanoTime() - start;
+                if (event.shouldCommit()) {
+                    event.path = file.getPath();
+                    event.charset = charset == null ? null : charset.name();
+                    event.bytes = bytesRead[0];
+                    event.characters = characters;
+                    event.cancelled = isCancelled();
+                    event.commit();
+                }
+            }
+            return null;
+        }
+
+        @Override
+        protected void process(List<String> chunks) {
+            if (isCancelled()) {
+                return;
+            }
+            for (String chunk : chunks) {
+                if (chunk == restart) {
+                    inputTextArea.setText("");
+                } else {
+                    inputTextArea.append(chunk);
+                }
+            }
+        }
+
+        @Override
+        protected void done() {
+            if (reportFailure(this, "Error loading file: ", "Load Error")) {
+                showStatus(UIText.STATUS_LOAD, characters, false, elapsedNanos);
+                if (replaced) {
+                    JOptionPane.showMessageDialog(AtbashCipherGUI.this,
+                            String.format(UIText.LOAD_REPLACED.get(currentLanguage), charset.name()),
+                            UIText.LOAD_REPLACED_TITLE.get(currentLanguage),
+                            JOptionPane.WARNING_MESSAGE);
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds the line index of a large file and grows the scroll range of the views as it goes.
+     * Cancelling stops indexing; the part indexed so far stays viewable.
+     */
+    private final class IndexWorker extends SwingWorker<Void, Void> {
+        private final LargeTextFile file;
+        private long elapsedNanos;
+
+        IndexWorker(LargeTextFile file) {
+            this.file = file;
+        }
+
+        @Override
+        protected Void doInBackground() throws IOException {
+            AtbashEvents.LoadEvent event = new AtbashEvents.LoadEvent();
+            event.begin();
+            long start = System.nanoTime();
+            long size = Math.max(1, file.size());
+            long[] indexed = new long[1];
+            try {
+                file.buildIndex(position -> {
+                    if (isCancelled()) {
+                        throw new CancellationException();
+                    }
+                    indexed[0] = position;
+                    setProgress((int) (100 * position / size));
+                    publish();
+                });
+            } finally {
+                elapsedNanos = System.nanoTime() - start;
+                if (event.shouldCommit()) {
+                    event.path = file.getPath().toString();
+                    event.bytes = indexed[0];
+                    event.cancelled = isCancelled();
+                    event.commit();
+                }
+            }
+            return null;
+        }
+
+        @Override
+        protected void process(List<Void> chunks) {
+            refreshLargeFileViews();
+        }
+
+        @Override
+        protected void done() {
+            refreshLargeFileViews();
+            if (largeFile == file && reportFailure(this, "Error loading file: ", "Load Error")) {
+                showStatus(UIText.STATUS_LOAD, file.size(), true, elapsedNanos);
+            }
+        }
+
+        private void refreshLargeFileViews() {
+            if (largeFile == file) {
+                largeInputView.lineCountChanged();
+                largeOutputView.lineCountChanged();
+            }
+        }
+    }
+
+    /**
+     * Searches the large file for the ciphertext of a query in parallel. Only the context around
+     * each match is read back and decrypted, never the file itself.
+     */
+    private final class SearchWorker extends SwingWorker<List<SearchResult>, Void> {
+        private final LargeTextFile file;
+        private final String query;
+
+        SearchWorker(LargeTextFile file, String query) {
+            this.file = file;
+            this.query = query;
+        }
+
+        @Override
+        protected List<SearchResult> doInBackground() throws IOException {
+            List<SearchResult> results = new ArrayList<>();
+            try (AtbashSearch search = AtbashSearch.open(file.getPath())) {
+                for (AtbashSearch.Match match : search.find(query, MAX_SEARCH_RESULTS)) {
+                    if (isCancelled()) {
+                        break;
+                    }
+                    results.add(new SearchResult(match.offset(), match.snippet(SEARCH_CONTEXT)));
+                }
+            }
+            return results;
+        }
+
+        @Override
+        protected void done() {
+            if (reportFailure(this, "Error searching file: ", "Search Error")) {
+                try {
+                    showSearchResults(file, query, get());
+                } catch (InterruptedException | ExecutionException ex) {
+                    // Already reported
+                }
+            }
+        }
+    }
+
+    /** One match of a large file search, listed as its byte offset and decrypted context. */
+    private static final class SearchResult {
+        final long offset;
+        final String snippet;
+
+        SearchResult(long offset, String snippet) {
+            this.offset = offset;
+            this.snippet = snippet;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d: %s", offset, snippet);
+        }
+    }
+
+    /**
+     * Transforms the large file straight from disk to a temporary file without loading it,
+     * then moves it over the target file.
+     */
+    private final class SaveLargeFileWorker extends SwingWorker<Void, Void> {
+        private final File source;
+        private final File target;
+        private long bytes;
+        private long elapsedNanos;
+
+        SaveLargeFileWorker(File source, File target) {
+            this.source = source;
+            this.target = target;
+        }
+
+        @Override
+        protected Void doInBackground() throws IOException {
+            AtbashEvents.SaveEvent event = new AtbashEvents.SaveEvent();
+            event.begin();
+            long start = System.nanoTime();
+            Path temp = AtbashTextFiles.createTempFile(target.toPath());
+            try {
+                bytes = AtbashParallel.transform(source.toPath(), temp);
+                AtbashTextFiles.replace(temp, target.toPath());
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            elapsedNanos = System.nanoTime() - start;
+            if (event.shouldCommit()) {
+                event.path = target.getPath();
+                event.bytes = bytes;
+                event.commit();
+            }
+            return null;
+        }
+
+        @Override
+        protected void done() {
+            if (reportFailure(this, "Error saving file: ", "Save Error")) {
+                showStatus(UIText.STATUS_SAVE, bytes, true, elapsedNanos);
+            }
+        }
+    }
+
+    /**
+     * Writes the output text as UTF-8 to a temporary file in chunks and then moves it over the target,
+     * so a failed or cancelled save leaves any existing file untouched.
+     */
+    private final class SaveWorker extends SwingWorker<Void, Void> {
+        private final File file;
+        private final String text;
+        private long elapsedNanos;
+
+        SaveWorker(File file, String text) {
+            this.file = file;
+            this.text = text;
+        }
+
+        @Override
+        protected Void doInBackground() throws IOException {
+            AtbashEvents.SaveEvent event = new AtbashEvents.SaveEvent();
+            event.begin();
+            long started = System.nanoTime();
+            long length = Math.max(1, text.length());
+            long[] written = new long[1];
+            long bytes = 0;
+            try {
+                bytes = AtbashTextFiles.write(file.toPath(), text, StandardCharsets.UTF_8, done -> {
+                    if (isCancelled()) {
+                        throw new CancellationException();
+                    }
+                    written[0] = done;
+                    setProgress((int) (100 * done / length));
+                });
+            } catch (CancellationException e) {
+                // The temporary file is already gone and the target was never touched
+            } finally {
+                elapsedNanos = System.nanoTime() - started;
+                if (event.shouldCommit()) {
+                    event.path = file.getPath();
+                    event.bytes = bytes;
+                    event.characters = written[0];
+                    event.cancelled = isCancelled();
+                    event.commit();
+                }
+            }
+            return null;
+        }
+
+        @Override
+        protected void done() {
+            if (reportFailure(this, "Error saving file: ", "Save Error")) {
+                showStatus(UIText.STATUS_SAVE, text.length(), false, elapsedNanos);
+            }
+        }
+    }
+
+    /**
+     * Main method to run the GUI application.
+     * When command-line arguments are given, runs the headless batch mode ({@link AtbashCli}) instead.
+     */
+    public static void main(String[] args) {
+        if (args.length > 0) {
+            AtbashCli.main(args);
+            return;
+        }
+        // It's safer to run UI-related tasks on the Event Dispatch Thread (EDT).
+        SwingUtilities.invokeLater(() -> {
+            try {
+                // Use the system's L&F for better integration (e.g., native menu bar on macOS)
+                UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+            AtbashCipherGUI frame = new AtbashCipherGUI();
+            frame.setVisible(true);
+            AtbashStartup.firstFrameShown();
+            // Fonts and the file chooser are prepared once the frame is up, not before
+            AtbashStartup.warmUp(frame::prepareFileChooser);
+        });
+    }
+}
\ No newline at end of file
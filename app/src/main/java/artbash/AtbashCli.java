@@ -0,0 +1,370 @@
+package artbash;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 화면 없이 실행하는 명령줄 일괄 변환 도구입니다.
+ * 파일, 글롭 패턴, 디렉터리 트리를 받아 가상 스레드에서 동시에 변환하고 결과를 출력 디렉터리에 씁니다.
+ * <pre>
+ * java -cp artbash.jar artbash.AtbashCli -o out logs/ "data/**.txt" notes.txt
+ * </pre>
+ * {@code --archives}를 주면 {@code .gz}와 {@code .zip} 파일은 풀지 않고 안의 내용을 변환하여 같은 형식으로 다시 압축합니다.
+ * 서로 다른 입력 파일이 출력 디렉터리의 같은 경로로 가게 되면 아무것도 쓰지 않고 종료 코드 2로 끝납니다.
+ * <p>
+ * {@code --range}, {@code --head}, {@code --tail}을 주면 출력 디렉터리 대신 표준 출력으로
+ * 각 파일의 해당 바이트 구간만 변환하여 내보냅니다. 파일의 나머지 부분은 읽지 않으며, {@code -o}와 함께 쓸 수 없습니다.
+ * <pre>
+ * java -cp artbash.jar artbash.AtbashCli --tail 10K huge.log
+ * java -cp artbash.jar artbash.AtbashCli --range 1G:+4K huge.log
+ * </pre>
+ */
+public final class AtbashCli {
+
+    /** 이 크기보다 작은 파일은 메모리 매핑 대신 바이트 배열로 한 번에 처리 */
+    private static final long MAP_THRESHOLD = 1024 * 1024;
+
+    private static final int DEFAULT_MAX_IN_FLIGHT = 64;
+
+    private AtbashCli() {
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /**
+     * 명령줄 인자를 해석해 변환을 실행합니다.
+     *
+     * @return 종료 코드 (0: 성공, 1: 일부 파일 실패, 2: 잘못된 인자)
+     */
+    static int run(String[] args, PrintStream out, PrintStream err) {
+        Path outputDirectory = null;
+        int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+        boolean archives = false;
+        // 구간 모드: [rangeFrom, rangeTo) 또는 끝에서 tailBytes 바이트
+        long rangeFrom = -1;
+        long rangeTo = -1;
+        long tailBytes = -1;
+        List<String> inputs = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "-o":
+                    case "--output":
+                        outputDirectory = Paths.get(requireValue(args, ++i));
+                        break;
+                    case "-j":
+                    case "--max-in-flight":
+                        maxInFlight = Integer.parseInt(requireValue(args, ++i));
+                        if (maxInFlight < 1) {
+                            throw new IllegalArgumentException("--max-in-flight must be at least 1");
+                        }
+                        break;
+                    case "-z":
+                    case "--archives":
+                        archives = true;
+                        break;
+                    case "--range": {
+                        String range = requireValue(args, ++i);
+                        int colon = range.indexOf(':');
+                        if (colon < 0) {
+                            throw new IllegalArgumentException("--range must be <from>:<to>");
+                        }
+                        rangeFrom = parseSize(range.substring(0, colon));
+                        String to = range.substring(colon + 1);
+                        rangeTo = to.isEmpty() ? Long.MAX_VALUE
+                                : to.startsWith("+") ? rangeFrom + parseSize(to.substring(1)) : parseSize(to);
+                        tailBytes = -1;
+                        break;
+                    }
+                    case "--head":
+                        rangeFrom = 0;
+                        rangeTo = parseSize(requireValue(args, ++i));
+                        tailBytes = -1;
+                        break;
+                    case "--tail":
+                        tailBytes = parseSize(requireValue(args, ++i));
+                        rangeFrom = -1;
+                        break;
+                    case "-h":
+                    case "--help":
+                        printUsage(out);
+                        return 0;
+                    default:
+                        inputs.add(args[i]);
+                }
+            }
+            if (rangeFrom >= 0 || tailBytes >= 0) {
+                if (outputDirectory != null) {
+                    throw new IllegalArgumentException("--output cannot be combined with --range, --head or --tail");
+                }
+                if (inputs.isEmpty()) {
+                    throw new IllegalArgumentException("at least one input file is required");
+                }
+                if (rangeTo < rangeFrom) {
+                    throw new IllegalArgumentException("range end is before its start");
+                }
+                return printRanges(inputs, rangeFrom, rangeTo, tailBytes, out, err);
+            }
+            if (outputDirectory == null || inputs.isEmpty()) {
+                throw new IllegalArgumentException("an output directory and at least one input are required");
+            }
+        } catch (IllegalArgumentException e) {
+            err.println("Error: " + e.getMessage());
+            printUsage(err);
+            return 2;
+        }
+
+        List<Job> jobs = new ArrayList<>();
+        try {
+            for (String input : inputs) {
+                collect(input, outputDirectory, jobs);
+            }
+        } catch (IOException e) {
+            err.println("Error: cannot list input: " + e.getMessage());
+            return 2;
+        }
+        String conflict = removeDuplicateTargets(jobs);
+        if (conflict != null) {
+            err.println("Error: " + conflict);
+            return 2;
+        }
+        return process(jobs, maxInFlight, archives, out, err);
+    }
+
+    private static int process(List<Job> jobs, int maxInFlight, boolean archives, PrintStream out, PrintStream err) {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicInteger done = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicLong bytes = new AtomicLong();
+        long start = System.nanoTime();
+
+        ExecutorService executor = VirtualThreads.newTaskExecutor("artbash-cli");
+        try {
+            for (Job job : jobs) {
+                inFlight.acquireUninterruptibly();
+                executor.execute(() -> {
+                    try {
+                        bytes.addAndGet(transform(job.source, job.target, archives));
+                        done.incrementAndGet();
+                    } catch (IOException | RuntimeException e) {
+                        failed.incrementAndGet();
+                        err.println("Failed: " + job.source + ": " + e);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+        }
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        out.printf("Files: %d transformed, %d failed%n", done.get(), failed.get());
+        out.printf("Bytes: %d%n", bytes.get());
+        out.printf("Elapsed: %.3f s%n", seconds);
+        out.printf("Throughput: %.1f MB/s, %.1f files/s%n",
+                bytes.get() / 1e6 / Math.max(seconds, 1e-9), done.get() / Math.max(seconds, 1e-9));
+        return failed.get() == 0 ? 0 : 1;
+    }
+
+    /**
+     * 각 입력 파일의 구간을 변환하여 표준 출력에 차례로 씁니다.
+     */
+    private static int printRanges(List<String> inputs, long from, long to, long tailBytes,
+                                   PrintStream out, PrintStream err) {
+        int failed = 0;
+        for (String input : inputs) {
+            Path file = Paths.get(input);
+            try {
+                if (tailBytes >= 0) {
+                    AtbashFiles.tail(file, tailBytes, out);
+                } else {
+                    AtbashFiles.transformRange(file, from, to, out);
+                }
+            } catch (IOException | RuntimeException e) {
+                failed++;
+                err.println("Failed: " + file + ": " + e);
+            }
+        }
+        out.flush();
+        return failed == 0 ? 0 : 1;
+    }
+
+    /**
+     * 바이트 수를 해석합니다. K, M, G 접미사(1024 배수)를 쓸 수 있습니다.
+     */
+    private static long parseSize(String value) {
+        String trimmed = value.trim().toUpperCase(Locale.ROOT);
+        long unit = 1;
+        if (trimmed.endsWith("K")) {
+            unit = 1L << 10;
+        } else if (trimmed.endsWith("M")) {
+            unit = 1L << 20;
+        } else if (trimmed.endsWith("G")) {
+            unit = 1L << 30;
+        }
+        if (unit > 1) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        }
+        long size;
+        try {
+            size = Math.multiplyExact(Long.parseLong(trimmed), unit);
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new IllegalArgumentException("invalid size: " + value);
+        }
+        if (size < 0) {
+            throw new IllegalArgumentException("negative size: " + value);
+        }
+        return size;
+    }
+
+    private static long transform(Path source, Path target, boolean archives) throws IOException {
+        Path parent = target.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        if (archives) {
+            String name = source.getFileName().toString().toLowerCase(Locale.ROOT);
+            if (name.endsWith(".gz")) {
+                return AtbashArchives.transformGzip(source, target);
+            } else if (name.endsWith(".zip")) {
+                return AtbashArchives.transformZip(source, target);
+            }
+        }
+        long size = Files.size(source);
+        if (size >= MAP_THRESHOLD) {
+            return AtbashFiles.transform(source, target);
+        }
+        byte[] bytes = Files.readAllBytes(source);
+        AtbashUtf8.transform(bytes, 0, bytes.length, true);
+        Files.write(target, bytes);
+        return bytes.length;
+    }
+
+    /**
+     * 입력 하나를 변환할 파일 목록으로 펼칩니다.
+     * 디렉터리와 글롭은 기준 디렉터리로부터의 상대 경로를 출력 디렉터리 아래에 그대로 유지합니다.
+     */
+    private static void collect(String input, Path outputDirectory, List<Job> jobs) throws IOException {
+        if (isGlob(input)) {
+            Path base = globBase(input);
+            PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + input.replace('\\', '/'));
+            for (Path file : walk(base)) {
+                Path relative = base.relativize(file);
+                Path candidate = base.equals(Paths.get(".")) ? relative : file;
+                if (matcher.matches(Paths.get(candidate.toString().replace('\\', '/')))) {
+                    jobs.add(new Job(file, outputDirectory.resolve(relative.toString())));
+                }
+            }
+            return;
+        }
+        Path path = Paths.get(input);
+        if (Files.isDirectory(path)) {
+            for (Path file : walk(path)) {
+                jobs.add(new Job(file, outputDirectory.resolve(path.relativize(file).toString())));
+            }
+        } else if (Files.isRegularFile(path)) {
+            jobs.add(new Job(path, outputDirectory.resolve(path.getFileName().toString())));
+        } else {
+            throw new IOException("no such file or directory: " + input);
+        }
+    }
+
+    /**
+     * 같은 파일이 여러 입력으로 들어온 작업은 하나만 남깁니다.
+     * 서로 다른 파일이 같은 출력 경로로 가면 동시에 덮어쓰게 되므로 그 내용을 설명하는 문자열을 반환합니다.
+     *
+     * @return 충돌이 없으면 null
+     */
+    private static String removeDuplicateTargets(List<Job> jobs) {
+        Map<Path, Path> sources = new HashMap<>();
+        List<Job> unique = new ArrayList<>(jobs.size());
+        for (Job job : jobs) {
+            Path source = job.source.toAbsolutePath().normalize();
+            Path previous = sources.putIfAbsent(job.target.toAbsolutePath().normalize(), source);
+            if (previous == null) {
+                unique.add(job);
+            } else if (!previous.equals(source)) {
+                return previous + " and " + source + " would both be written to " + job.target;
+            }
+        }
+        jobs.clear();
+        jobs.addAll(unique);
+        return null;
+    }
+
+    private static List<Path> walk(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+    }
+
+    private static boolean isGlob(String input) {
+        return input.chars().anyMatch(c -> c == '*' || c == '?' || c == '[' || c == '{');
+    }
+
+    /** 글롭 패턴에서 와일드카드가 처음 나오기 전까지의 디렉터리 부분 */
+    private static Path globBase(String glob) {
+        String normalized = glob.replace('\\', '/');
+        int wildcard = 0;
+        while (wildcard < normalized.length() && "*?[{".indexOf(normalized.charAt(wildcard)) < 0) {
+            wildcard++;
+        }
+        int slash = normalized.lastIndexOf('/', wildcard);
+        return slash < 0 ? Paths.get(".") : Paths.get(slash == 0 ? "/" : normalized.substring(0, slash));
+    }
+
+    private static String requireValue(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+
+    private static void printUsage(PrintStream out) {
+        out.println("Usage: java -cp artbash.jar artbash.AtbashCli -o <output-dir> [options] <file|dir|glob>...");
+        out.println("       java -cp artbash.jar artbash.AtbashCli --range|--head|--tail <bytes> <file>...");
+        out.println("  -o, --output <dir>          directory to write transformed files to");
+        out.println("  -j, --max-in-flight <n>     files processed at the same time (default " + DEFAULT_MAX_IN_FLIGHT + ")");
+        out.println("  -z, --archives              transform the contents of .gz and .zip files and recompress them");
+        out.println("      --range <from>:<to>     write bytes [from, to) of each file to stdout (to may be +length or empty);");
+        out.println("                              --range, --head and --tail cannot be combined with -o");
+        out.println("      --head <n>              write the first n bytes of each file to stdout");
+        out.println("      --tail <n>              write the last n bytes of each file to stdout (sizes accept K, M, G)");
+        out.println("  -h, --help                  show this help");
+    }
+
+    private static final class Job {
+        final Path source;
+        final Path target;
+
+        Job(Path source, Path target) {
+            this.source = source;
+            this.target = target;
+        }
+    }
+}
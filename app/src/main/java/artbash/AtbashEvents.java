@@ -0,0 +1,138 @@
+package artbash;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JDK Flight Recorder 이벤트입니다. 변환, 파일 불러오기/저장, 암호문 검색, 테마 적용 구간의 크기와 걸린 시간을 기록합니다.
+ * 기록을 켜지 않으면 이벤트는 커밋되지 않으므로 비용이 거의 없습니다.
+ * <pre>
+ * java -XX:StartFlightRecording=filename=artbash.jfr -jar artbash.jar
+ * jfr print --events "artbash.*" artbash.jfr
+ * </pre>
+ */
+final class AtbashEvents {
+
+    private AtbashEvents() {
+    }
+
+    @Name("artbash.Transform")
+    @Label("Atbash Transform")
+    @Description("A bulk Atbash transform of a string, a character stream or a byte stream")
+    @Category("ArtBash")
+    @StackTrace(false)
+    static final class TransformEvent extends Event {
+        @Label("Source")
+        @Description("What was transformed: String, Reader, InputStream or GUI")
+        String source;
+
+        @Label("Characters")
+        long characters;
+
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+    }
+
+    @Name("artbash.Load")
+    @Label("Load File")
+    @Category("ArtBash")
+    @StackTrace(false)
+    static final class LoadEvent extends Event {
+        @Label("Path")
+        String path;
+
+        @Label("Charset")
+        String charset;
+
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+
+        @Label("Characters")
+        long characters;
+
+        @Label("Cancelled")
+        boolean cancelled;
+    }
+
+    @Name("artbash.Save")
+    @Label("Save File")
+    @Category("ArtBash")
+    @StackTrace(false)
+    static final class SaveEvent extends Event {
+        @Label("Path")
+        String path;
+
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+
+        @Label("Characters")
+        long characters;
+
+        @Label("Cancelled")
+        boolean cancelled;
+    }
+
+    @Name("artbash.Search")
+    @Label("Search Ciphertext")
+    @Description("A search for a plaintext query in an encrypted file")
+    @Category("ArtBash")
+    @StackTrace(false)
+    static final class SearchEvent extends Event {
+        @Label("Path")
+        String path;
+
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+
+        @Label("Matches")
+        long matches;
+    }
+
+    @Name("artbash.Startup")
+    @Label("Startup")
+    @Description("Time from JVM start until the main window was first painted")
+    @Category("ArtBash")
+    @StackTrace(false)
+    static final class StartupEvent extends Event {
+        @Label("First Frame")
+        @Timespan(Timespan.MILLISECONDS)
+        long firstFrameMillis;
+    }
+
+    @Name("artbash.FileDialog")
+    @Label("Show File Dialog")
+    @Description("Time from choosing Open or Save until the file dialog is visible")
+    @Category("ArtBash")
+    @StackTrace(false)
+    static final class FileDialogEvent extends Event {
+        @Label("Dialog")
+        String dialog;
+
+        @Label("Reused")
+        @Description("Whether a file chooser built earlier was reused")
+        boolean reused;
+    }
+
+    @Name("artbash.ApplyTheme")
+    @Label("Apply Theme")
+    @Category("ArtBash")
+    @StackTrace(false)
+    static final class ThemeEvent extends Event {
+        @Label("Theme")
+        String theme;
+
+        @Label("Components")
+        @Description("Number of components in the frame when the theme was applied")
+        int components;
+    }
+}
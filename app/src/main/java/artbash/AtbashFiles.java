@@ -0,0 +1,180 @@
+package artbash;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * UTF-8 텍스트 파일을 메모리 매핑하여 바이트 단위로 아트배쉬 변환합니다.
+ * 문자로 디코딩하거나 힙에 복사하지 않으며, 변환 전후의 바이트 길이가 같으므로
+ * 출력 파일의 같은 위치에 그대로 쓰거나 원본 파일을 제자리에서 바꿀 수 있습니다.
+ * <p>
+ * 각 문자는 따로 변환되므로 파일의 임의 구간도 앞부분을 읽지 않고 변환할 수 있습니다.
+ * {@link #transformRange(Path, long, long, OutputStream)}, {@link #head(Path, long, OutputStream)},
+ * {@link #tail(Path, long, OutputStream)}는 요청한 구간만 읽습니다.
+ */
+public final class AtbashFiles {
+
+    /** 한 번에 매핑하는 구간의 크기 */
+    private static final int MAP_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    /** 구간을 읽을 때 한 번에 읽는 크기 */
+    private static final int RANGE_BUFFER_SIZE = 64 * 1024;
+
+    private AtbashFiles() {
+    }
+
+    /**
+     * 원본 파일을 변환하여 대상 파일에 씁니다. 대상 파일이 있으면 덮어씁니다.
+     *
+     * @param source UTF-8로 인코딩된 원본 파일
+     * @param target 변환 결과를 쓸 파일
+     * @return 변환한 바이트 수
+     * @throws IOException 파일을 읽거나 쓰는 중 오류가 발생한 경우
+     */
+    public static long transform(Path source, Path target) throws IOException {
+        if (Files.exists(target) && Files.isSameFile(source, target)) {
+            return transformInPlace(source);
+        }
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = in.size();
+            long position = 0;
+            while (position < size) {
+                int window = (int) Math.min(MAP_WINDOW_SIZE, size - position);
+                MappedByteBuffer src = in.map(FileChannel.MapMode.READ_ONLY, position, window);
+                MappedByteBuffer dst = out.map(FileChannel.MapMode.READ_WRITE, position, window);
+                position += AtbashUtf8.transform(src, dst, 0, window, position + window == size);
+            }
+            return size;
+        }
+    }
+
+    /**
+     * 파일의 바이트 구간 [from, to)를 변환하여 씁니다. 암호화된 파일이면 그 구간을 복호화한 평문이 나옵니다.
+     * 양 끝이 멀티바이트 문자 가운데에 있으면 각각 다음 문자 시작 위치로 옮기므로,
+     * 이어지는 구간을 차례로 읽으면 모든 문자가 정확히 한 번씩 나옵니다.
+     * 파일 끝을 넘는 구간은 파일 끝에서 자릅니다.
+     *
+     * @return 쓴 바이트 수
+     * @throws IOException 파일을 읽거나 쓰는 중 오류가 발생한 경우
+     */
+    public static long transformRange(Path file, long from, long to, OutputStream out) throws IOException {
+        if (from < 0 || to < from) {
+            throw new IllegalArgumentException("invalid range [" + from + ", " + to + ")");
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long start = alignForward(channel, Math.min(from, size), size);
+            long end = alignForward(channel, Math.min(to, size), size);
+            return transformRange(channel, start, end, out);
+        }
+    }
+
+    /**
+     * 파일의 바이트 구간 [from, to)를 변환한 문자열을 반환합니다. 경계 처리는
+     * {@link #transformRange(Path, long, long, OutputStream)}와 같습니다.
+     */
+    public static String transformRange(Path file, long from, long to) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream((int) Math.min(Math.max(0, to - from), RANGE_BUFFER_SIZE));
+        transformRange(file, from, to, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 파일의 처음 {@code bytes} 바이트(마지막 문자가 잘리면 그 문자까지)를 변환하여 씁니다.
+     *
+     * @return 쓴 바이트 수
+     */
+    public static long head(Path file, long bytes, OutputStream out) throws IOException {
+        return transformRange(file, 0, Math.max(0, bytes), out);
+    }
+
+    /**
+     * 파일의 마지막 {@code bytes} 바이트(첫 문자가 잘리면 그 문자는 빼고)를 변환하여 씁니다.
+     * 파일 크기와 상관없이 요청한 만큼만 읽습니다.
+     *
+     * @return 쓴 바이트 수
+     */
+    public static long tail(Path file, long bytes, OutputStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long start = alignForward(channel, Math.max(0, size - Math.max(0, bytes)), size);
+            return transformRange(channel, start, size, out);
+        }
+    }
+
+    /**
+     * 문자 경계에 맞춰진 [start, end) 구간을 위치 지정 읽기로 읽어 변환합니다.
+     */
+    private static long transformRange(FileChannel channel, long start, long end, OutputStream out) throws IOException {
+        byte[] bytes = new byte[(int) Math.max(4, Math.min(RANGE_BUFFER_SIZE, end - start))];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long position = start;
+        int carry = 0;
+        long written = 0;
+        while (position < end) {
+            buffer.limit((int) Math.min(bytes.length, carry + (end - position)));
+            buffer.position(carry);
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                // 읽는 중에 파일이 줄어듦
+                break;
+            }
+            position += read;
+            int length = buffer.position();
+            // 버퍼 끝에서 잘린 한글 음절은 다음 읽기 앞에 이어 붙임
+            int done = AtbashUtf8.transform(bytes, 0, length, position >= end);
+            out.write(bytes, 0, done);
+            written += done;
+            carry = length - done;
+            System.arraycopy(bytes, done, bytes, 0, carry);
+        }
+        if (carry > 0) {
+            out.write(bytes, 0, carry);
+            written += carry;
+        }
+        out.flush();
+        return written;
+    }
+
+    /**
+     * 위치에서 UTF-8 연속 바이트를 건너뛰어 다음 문자의 시작 위치를 찾습니다. 최대 3바이트만 읽습니다.
+     */
+    private static long alignForward(FileChannel channel, long position, long size) throws IOException {
+        if (position == 0 || position >= size) {
+            return position;
+        }
+        ByteBuffer bytes = ByteBuffer.allocate((int) Math.min(3, size - position));
+        int read = Math.max(0, channel.read(bytes, position));
+        return position + AtbashUtf8.alignForward(bytes, 0, read);
+    }
+
+    /**
+     * 파일을 제자리에서 변환합니다. 아트배쉬는 자기 역함수이므로 두 번 적용하면 원래 내용으로 돌아옵니다.
+     *
+     * @param file UTF-8로 인코딩된 파일
+     * @return 변환한 바이트 수
+     * @throws IOException 파일을 읽거나 쓰는 중 오류가 발생한 경우
+     */
+    public static long transformInPlace(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                int window = (int) Math.min(MAP_WINDOW_SIZE, size - position);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, window);
+                position += AtbashUtf8.transform(buffer, buffer, 0, window, position + window == size);
+            }
+            return size;
+        }
+    }
+}
@@ -0,0 +1,412 @@
+package artbash;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * 아트배쉬 변환을 {@link Flow} 기반 반응형 파이프라인에 연결합니다.
+ * <ul>
+ *   <li>{@link TransformProcessor}는 받은 문자열을 하나씩 변환하여 내보내는 {@link Flow.Processor}이며,
+ *       아래쪽 버퍼에 빈자리가 생긴 만큼만 위쪽에 묶어서 요청합니다.</li>
+ *   <li>{@link #lines(Path)}, {@link #lines(Stream)}, {@link #chunks(Path, int)}는 구독자가 요청하는 만큼만
+ *       파일이나 줄 스트림을 읽어 변환된 줄이나 바이트 조각을 내보내는 {@link Flow.Publisher}입니다.</li>
+ * </ul>
+ * 구독자마다 쌓일 수 있는 항목 수는 버퍼 크기로 정하며, 버퍼가 차면 더 요청하지 않거나(프로세서)
+ * 읽기 작업이 기다리므로(발행자) 아래쪽이 느려도 메모리 사용량이 늘지 않습니다.
+ * <pre>
+ * AtbashFlow.lines(path).subscribe(subscriber);
+ * upstream.subscribe(processor); processor.subscribe(sink);
+ * </pre>
+ */
+public final class AtbashFlow {
+
+    /** 기본 요청 묶음 크기 */
+    public static final int DEFAULT_BATCH_SIZE = 64;
+
+    /** 기본 파일 조각 크기 */
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    /** 파일과 스트림을 읽는 작업. 버퍼가 차면 막혀 기다리므로 작업마다 스레드를 씀 */
+    private static final ExecutorService PRODUCERS = VirtualThreads.newTaskExecutor("artbash-flow");
+
+    private AtbashFlow() {
+    }
+
+    /**
+     * 기본 실행기({@link ForkJoinPool#commonPool()})와 버퍼 크기({@link Flow#defaultBufferSize()})로 프로세서를 만듭니다.
+     */
+    public static TransformProcessor processor() {
+        return new TransformProcessor(ForkJoinPool.commonPool(), Flow.defaultBufferSize(), DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param executor       구독자에게 전달하는 실행기
+     * @param bufferCapacity 구독자마다 쌓일 수 있는 최대 항목 수
+     * @param batchSize      위쪽에 한 번에 요청하는 최대 항목 수 (버퍼 크기보다 크면 버퍼 크기로 줄임)
+     */
+    public static TransformProcessor processor(Executor executor, int bufferCapacity, int batchSize) {
+        return new TransformProcessor(executor, bufferCapacity, batchSize);
+    }
+
+    /**
+     * 파일의 각 줄을 변환하여 내보내는 발행자입니다. 구독할 때마다 파일을 처음부터 읽습니다.
+     */
+    public static Flow.Publisher<String> lines(Path file) {
+        return lines(file, ForkJoinPool.commonPool(), Flow.defaultBufferSize());
+    }
+
+    public static Flow.Publisher<String> lines(Path file, Executor executor, int bufferCapacity) {
+        Objects.requireNonNull(file, "file");
+        return new ProducerPublisher<>(() -> readerProducer(Files.newBufferedReader(file, StandardCharsets.UTF_8)),
+                executor, bufferCapacity);
+    }
+
+    /**
+     * 줄 스트림의 각 줄을 변환하여 내보내는 발행자입니다. 스트림은 한 번만 읽을 수 있으므로 구독자도 하나만 받습니다.
+     * 끝나거나 취소되면 스트림을 닫습니다.
+     */
+    public static Flow.Publisher<String> lines(Stream<String> lines) {
+        return lines(lines, ForkJoinPool.commonPool(), Flow.defaultBufferSize());
+    }
+
+    public static Flow.Publisher<String> lines(Stream<String> lines, Executor executor, int bufferCapacity) {
+        Objects.requireNonNull(lines, "lines");
+        AtomicBoolean used = new AtomicBoolean();
+        return new ProducerPublisher<>(() -> {
+            if (used.getAndSet(true)) {
+                throw new IllegalStateException("a line stream can only be subscribed to once");
+            }
+            return streamProducer(lines);
+        }, executor, bufferCapacity);
+    }
+
+    /**
+     * UTF-8 파일을 바이트 조각으로 읽어 변환한 결과를 내보내는 발행자입니다.
+     * 조각 경계에서 잘리는 한글 음절은 다음 조각으로 넘기므로 조각을 이어 붙이면 파일 전체를 변환한 결과와 같습니다.
+     */
+    public static Flow.Publisher<ByteBuffer> chunks(Path file) {
+        return chunks(file, DEFAULT_CHUNK_SIZE);
+    }
+
+    public static Flow.Publisher<ByteBuffer> chunks(Path file, int chunkSize) {
+        return chunks(file, chunkSize, ForkJoinPool.commonPool(), Flow.defaultBufferSize());
+    }
+
+    public static Flow.Publisher<ByteBuffer> chunks(Path file, int chunkSize, Executor executor, int bufferCapacity) {
+        Objects.requireNonNull(file, "file");
+        if (chunkSize < 4) {
+            throw new IllegalArgumentException("chunk size must be at least 4 bytes");
+        }
+        return new ProducerPublisher<>(() -> chunkProducer(file, chunkSize), executor, bufferCapacity);
+    }
+
+    private static Producer<String> readerProducer(BufferedReader reader) {
+        return new Producer<>() {
+            @Override
+            public String next() throws IOException {
+                String line = reader.readLine();
+                return line == null ? null : AtbashCipher.transform(line);
+            }
+
+            @Override
+            public void close() throws IOException {
+                reader.close();
+            }
+        };
+    }
+
+    private static Producer<String> streamProducer(Stream<String> lines) {
+        Iterator<String> iterator = lines.iterator();
+        return new Producer<>() {
+            @Override
+            public String next() {
+                return iterator.hasNext() ? AtbashCipher.transform(iterator.next()) : null;
+            }
+
+            @Override
+            public void close() {
+                lines.close();
+            }
+        };
+    }
+
+    private static Producer<ByteBuffer> chunkProducer(Path file, int chunkSize) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        return new Producer<>() {
+            // 앞 조각 끝에서 잘린 시퀀스 (최대 2바이트)
+            private byte[] carry = new byte[0];
+            private boolean finished;
+
+            @Override
+            public ByteBuffer next() throws IOException {
+                while (!finished) {
+                    byte[] bytes = new byte[chunkSize];
+                    System.arraycopy(carry, 0, bytes, 0, carry.length);
+                    ByteBuffer buffer = ByteBuffer.wrap(bytes, carry.length, chunkSize - carry.length);
+                    int read = channel.read(buffer);
+                    finished = read < 0;
+                    int length = buffer.position();
+                    int done = AtbashUtf8.transform(bytes, 0, length, finished);
+                    carry = Arrays.copyOfRange(bytes, done, length);
+                    if (done > 0) {
+                        return ByteBuffer.wrap(bytes, 0, done).asReadOnlyBuffer();
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public void close() throws IOException {
+                channel.close();
+            }
+        };
+    }
+
+    /**
+     * 받은 문자열을 하나씩 변환하여 구독자에게 내보내는 프로세서입니다.
+     * <p>
+     * 위쪽에는 아래쪽 버퍼에 빈자리가 있는 만큼만 요청합니다. 가장 느린 구독자의 버퍼에 쌓인 항목과
+     * 요청했지만 아직 받지 않은 항목의 합이 버퍼 크기를 넘지 않으므로, 받은 항목은 기다리지 않고 바로 버퍼에 넣습니다.
+     * 요청은 빈자리가 {@code batchSize}의 절반 이상 생길 때마다 최대 {@code batchSize}개씩 묶어서 보냅니다.
+     * {@link #onNext(String)}이 막히지 않으므로 위쪽과 아래쪽이 스레드 하나짜리 실행기를 함께 써도 멈추지 않습니다.
+     * 아래쪽 구독자가 모두 떠나면 위쪽 구독도 취소합니다.
+     */
+    public static final class TransformProcessor extends SubmissionPublisher<String>
+            implements Flow.Processor<String, String> {
+
+        private final int batchSize;
+        private final int replenish;
+        private final List<DownstreamSubscriber> downstream = new ArrayList<>();
+        private Flow.Subscription upstream;
+        private boolean hadSubscribers;
+        private boolean done;
+        // 위쪽에 요청한 항목 수와 받은 항목 수 (누적)
+        private long requested;
+        private long received;
+
+        TransformProcessor(Executor executor, int bufferCapacity, int batchSize) {
+            super(executor, bufferCapacity);
+            if (batchSize < 1) {
+                throw new IllegalArgumentException("batch size must be positive");
+            }
+            this.batchSize = Math.min(batchSize, getMaxBufferCapacity());
+            this.replenish = Math.max(1, this.batchSize / 2);
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super String> subscriber) {
+            Objects.requireNonNull(subscriber, "subscriber");
+            synchronized (this) {
+                DownstreamSubscriber wrapper = new DownstreamSubscriber(subscriber, received);
+                downstream.add(wrapper);
+                hadSubscribers = true;
+                super.subscribe(wrapper);
+                requestMore();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            synchronized (this) {
+                if (upstream != null) {
+                    subscription.cancel();
+                    return;
+                }
+                upstream = subscription;
+                requestMore();
+            }
+        }
+
+        @Override
+        public void onNext(String item) {
+            String transformed = AtbashCipher.transform(item);
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                received++;
+                // 빈자리만큼만 요청했으므로 버리는 일이 없어야 함
+                if (offer(transformed, null) < 0) {
+                    fail(new IllegalStateException("downstream buffer overflow"));
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            synchronized (this) {
+                done = true;
+            }
+            closeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            synchronized (this) {
+                done = true;
+            }
+            close();
+        }
+
+        /**
+         * 가장 느린 구독자의 버퍼와 아직 받지 않은 요청을 뺀 빈자리가 충분하면 위쪽에 더 요청합니다.
+         */
+        private void requestMore() {
+            if (upstream == null || done || downstream.isEmpty()) {
+                return;
+            }
+            long buffered = 0;
+            for (DownstreamSubscriber subscriber : downstream) {
+                buffered = Math.max(buffered, received - subscriber.delivered);
+            }
+            long space = getMaxBufferCapacity() - buffered - (requested - received);
+            if (space >= replenish) {
+                long n = Math.min(space, batchSize);
+                requested += n;
+                upstream.request(n);
+            }
+        }
+
+        private synchronized void delivered(DownstreamSubscriber subscriber) {
+            subscriber.delivered++;
+            requestMore();
+        }
+
+        private synchronized void left(DownstreamSubscriber subscriber) {
+            downstream.remove(subscriber);
+            if (downstream.isEmpty() && hadSubscribers && !done) {
+                // 아래쪽이 모두 떠났으므로 더 받을 필요가 없음
+                done = true;
+                if (upstream != null) {
+                    upstream.cancel();
+                }
+                close();
+            } else {
+                requestMore();
+            }
+        }
+
+        private void fail(Throwable error) {
+            done = true;
+            upstream.cancel();
+            closeExceptionally(error);
+        }
+
+        /**
+         * 구독자에게 전달된 항목 수를 세어 버퍼에서 빠져나간 만큼 위쪽 요청을 늘립니다.
+         */
+        private final class DownstreamSubscriber implements Flow.Subscriber<String> {
+            private final Flow.Subscriber<? super String> subscriber;
+            // 이 구독자에게 전달된 항목 수. 구독 시점에 받은 항목 수에서 시작
+            long delivered;
+
+            DownstreamSubscriber(Flow.Subscriber<? super String> subscriber, long received) {
+                this.subscriber = subscriber;
+                this.delivered = received;
+            }
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscriber.onSubscribe(new Flow.Subscription() {
+                    @Override
+                    public void request(long n) {
+                        subscription.request(n);
+                    }
+
+                    @Override
+                    public void cancel() {
+                        subscription.cancel();
+                        left(DownstreamSubscriber.this);
+                    }
+                });
+            }
+
+            @Override
+            public void onNext(String item) {
+                // 버퍼에서 이미 꺼낸 항목이므로 전달하기 전에 빈자리로 셈
+                delivered(this);
+                subscriber.onNext(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                left(this);
+                subscriber.onError(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                left(this);
+                subscriber.onComplete();
+            }
+        }
+    }
+
+    /**
+     * 항목을 하나씩 만들어 내는 읽기 작업입니다. 더 없으면 null을 반환합니다.
+     */
+    private interface Producer<T> extends Closeable {
+        T next() throws IOException;
+    }
+
+    private interface Source<T> {
+        Producer<T> open() throws IOException;
+    }
+
+    /**
+     * 구독자마다 따로 {@link SubmissionPublisher}를 만들고 읽기 작업을 시작하는 발행자입니다.
+     * 읽기 작업은 구독자 버퍼가 차면 막혀 기다리므로 구독자가 요청한 만큼만 앞서 읽습니다.
+     */
+    private static final class ProducerPublisher<T> implements Flow.Publisher<T> {
+        private final Source<T> source;
+        private final Executor executor;
+        private final int bufferCapacity;
+
+        ProducerPublisher(Source<T> source, Executor executor, int bufferCapacity) {
+            this.source = source;
+            this.executor = Objects.requireNonNull(executor, "executor");
+            if (bufferCapacity < 1) {
+                throw new IllegalArgumentException("buffer capacity must be positive");
+            }
+            this.bufferCapacity = bufferCapacity;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super T> subscriber) {
+            SubmissionPublisher<T> publisher = new SubmissionPublisher<>(executor, bufferCapacity);
+            publisher.subscribe(subscriber);
+            PRODUCERS.execute(() -> produce(publisher));
+        }
+
+        private void produce(SubmissionPublisher<T> publisher) {
+            try (Producer<T> producer = source.open()) {
+                T item;
+                while (publisher.hasSubscribers() && (item = producer.next()) != null) {
+                    publisher.submit(item);
+                }
+                publisher.close();
+            } catch (IOException | RuntimeException e) {
+                publisher.closeExceptionally(e);
+            }
+        }
+    }
+}
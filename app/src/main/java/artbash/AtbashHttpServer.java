@@ -0,0 +1,283 @@
+package artbash;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JDK 내장 HTTP 서버로 아트배쉬 변환을 제공하는 사이드카 서비스입니다.
+ * <ul>
+ *   <li>{@code POST /transform} — UTF-8 요청 본문을 변환하여 그대로 응답 본문으로 스트리밍합니다.
+ *       변환 전후의 바이트 길이가 같으므로 Content-Length가 있는 요청은 같은 길이로 응답하고,
+ *       chunked 요청은 chunked로 응답합니다. 본문 전체를 메모리에 모으지 않습니다.</li>
+ *   <li>{@code GET /health} — 상태와 처리 중인 요청 수를 JSON으로 반환합니다.</li>
+ * </ul>
+ * 동시에 처리하는 요청 수를 넘으면 503, 본문 크기 제한을 넘는 Content-Length는 413으로 거절합니다.
+ * chunked 요청이 처리 도중 제한을 넘으면 응답이 이미 시작되었으므로 연결을 끊습니다.
+ * <p>
+ * JDK 21 이상에서는 요청마다 가상 스레드를 씁니다. 가상 스레드가 없는 JDK에서는 스레드 수가 무한히 늘지 않도록
+ * 동시 요청 수만큼의 고정 스레드 풀과 같은 크기의 대기열을 쓰고, 대기열까지 차면 스레드 하나가 503만 응답합니다.
+ * 그마저 밀리면 연결을 바로 닫습니다.
+ * <pre>
+ * java -cp artbash.jar artbash.AtbashHttpServer --port 8080 --max-concurrent 4096
+ * </pre>
+ */
+public final class AtbashHttpServer {
+
+    private static final int DEFAULT_PORT = 8080;
+    private static final int DEFAULT_MAX_CONCURRENT = 1024;
+    private static final long DEFAULT_MAX_BODY_BYTES = 64L * 1024 * 1024;
+
+    /** 요청마다 쓰는 스트리밍 버퍼 크기 (작은 요청이 많으므로 파일 변환보다 작게 잡음) */
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private static final String TEXT_PLAIN = "text/plain; charset=utf-8";
+
+    /** 플랫폼 스레드 풀이 차서 503만 응답하는 스레드에서 실행 중이면 true */
+    private static final ThreadLocal<Boolean> OVERFLOW = ThreadLocal.withInitial(() -> false);
+
+    /** 503만 응답하는 스레드가 쌓아 둘 수 있는 요청 수 */
+    private static final int OVERFLOW_QUEUE = 1024;
+
+    /** 쉬는 플랫폼 스레드를 정리하기까지의 시간(초) */
+    private static final int KEEP_ALIVE_SECONDS = 30;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ExecutorService overflow;
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final long maxBodyBytes;
+    private final AtomicLong served = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * @param address       수신할 주소 (포트 0이면 임의의 빈 포트)
+     * @param maxConcurrent 동시에 처리할 최대 변환 요청 수
+     * @param maxBodyBytes  요청 본문의 최대 크기
+     * @throws IOException 소켓을 열 수 없는 경우
+     */
+    public AtbashHttpServer(InetSocketAddress address, int maxConcurrent, long maxBodyBytes) throws IOException {
+        if (maxConcurrent < 1 || maxBodyBytes < 0) {
+            throw new IllegalArgumentException("maxConcurrent must be positive and maxBodyBytes non-negative");
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.maxBodyBytes = maxBodyBytes;
+        this.permits = new Semaphore(maxConcurrent);
+        if (VirtualThreads.isSupported()) {
+            this.executor = VirtualThreads.newTaskExecutor("artbash-http");
+            this.overflow = null;
+        } else {
+            this.overflow = newPool("artbash-http-overflow", 1, OVERFLOW_QUEUE, true);
+            ThreadPoolExecutor pool = newPool("artbash-http", maxConcurrent, maxConcurrent, false);
+            // 풀과 대기열이 모두 차면 503만 응답하는 스레드로 넘김. 그것도 차면 예외가 나서 서버가 연결을 닫음
+            pool.setRejectedExecutionHandler((task, rejectedBy) -> overflow.execute(task));
+            this.executor = pool;
+        }
+        this.server = HttpServer.create(address, 0);
+        server.setExecutor(executor);
+        server.createContext("/transform", this::handleTransform);
+        server.createContext("/health", this::handleHealth);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * @param delaySeconds 처리 중인 요청을 기다릴 최대 시간(초)
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+        if (overflow != null) {
+            overflow.shutdown();
+        }
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    private void handleTransform(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                sendText(exchange, 405, "Method Not Allowed\n");
+                return;
+            }
+            long length = contentLength(exchange);
+            if (length > maxBodyBytes) {
+                sendText(exchange, 413, "Request body exceeds " + maxBodyBytes + " bytes\n");
+                return;
+            }
+            if (OVERFLOW.get() || !permits.tryAcquire()) {
+                rejected.incrementAndGet();
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                sendText(exchange, 503, "Too many concurrent requests\n");
+                return;
+            }
+            try {
+                exchange.getResponseHeaders().set("Content-Type", TEXT_PLAIN);
+                // 길이를 알면 같은 길이로 응답하고, 모르면(chunked 요청) chunked로 응답
+                exchange.sendResponseHeaders(200, length >= 0 ? (length == 0 ? -1 : length) : 0);
+                try (InputStream in = new LimitedInputStream(exchange.getRequestBody(), maxBodyBytes);
+                     OutputStream out = exchange.getResponseBody()) {
+                    AtbashCipher.transform(in, out, new byte[BUFFER_SIZE]);
+                }
+                served.incrementAndGet();
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    private void handleHealth(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod()) && !"HEAD".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                sendText(exchange, 405, "Method Not Allowed\n");
+                return;
+            }
+            String body = "{\"status\":\"UP\""
+                    + ",\"inFlight\":" + (maxConcurrent - permits.availablePermits())
+                    + ",\"maxConcurrent\":" + maxConcurrent
+                    + ",\"maxBodyBytes\":" + maxBodyBytes
+                    + ",\"served\":" + served.get()
+                    + ",\"rejected\":" + rejected.get()
+                    + "}\n";
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+        }
+    }
+
+    /**
+     * 스레드 수와 대기열 크기가 정해진 데몬 플랫폼 스레드 풀. 쉬는 스레드는 정리됨.
+     */
+    private static ThreadPoolExecutor newPool(String name, int threads, int queue, boolean overflow) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queue), runnable -> {
+                    Thread thread = new Thread(() -> {
+                        OVERFLOW.set(overflow);
+                        runnable.run();
+                    }, name + "-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private static long contentLength(HttpExchange exchange) {
+        String value = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static void sendText(HttpExchange exchange, int status, String message) throws IOException {
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", TEXT_PLAIN);
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    /**
+     * 제한보다 많은 바이트를 읽으려 하면 예외를 던지는 입력 스트림입니다.
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+        private long remaining;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, (int) Math.min(len, remaining + 1));
+            if (n > 0) {
+                remaining -= n;
+                if (remaining < 0) {
+                    throw new IOException("request body exceeds the size limit");
+                }
+            }
+            return n;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        String host = "127.0.0.1";
+        int port = DEFAULT_PORT;
+        int maxConcurrent = DEFAULT_MAX_CONCURRENT;
+        long maxBodyBytes = DEFAULT_MAX_BODY_BYTES;
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--bind":
+                    host = require(args[i], value);
+                    i++;
+                    break;
+                case "--port":
+                    port = Integer.parseInt(require(args[i], value));
+                    i++;
+                    break;
+                case "--max-concurrent":
+                    maxConcurrent = Integer.parseInt(require(args[i], value));
+                    i++;
+                    break;
+                case "--max-body-bytes":
+                    maxBodyBytes = Long.parseLong(require(args[i], value));
+                    i++;
+                    break;
+                default:
+                    System.err.println("Usage: java -cp artbash.jar artbash.AtbashHttpServer"
+                            + " [--bind <host>] [--port <port>] [--max-concurrent <n>] [--max-body-bytes <n>]");
+                    System.exit(2);
+            }
+        }
+        AtbashHttpServer server = new AtbashHttpServer(new InetSocketAddress(host, port), maxConcurrent, maxBodyBytes);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(2)));
+        server.start();
+        System.out.println("Listening on http://" + host + ":" + server.getAddress().getPort()
+                + " (virtual threads: " + VirtualThreads.isSupported() + ")");
+    }
+
+    private static String require(String option, String value) {
+        if (value == null) {
+            System.err.println("Missing value for " + option);
+            System.exit(2);
+        }
+        return value;
+    }
+}
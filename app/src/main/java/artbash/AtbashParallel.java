@@ -0,0 +1,195 @@
+package artbash;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 큰 입력을 여러 조각으로 나누어 {@link ForkJoinPool}에서 병렬로 아트배쉬 변환합니다.
+ * 각 문자는 다른 문자와 무관하게 변환되므로 조각 사이에 공유 상태가 없습니다.
+ * 입력이 임계값보다 작으면 순차 경로({@link AtbashCipher}, {@link AtbashFiles})를 그대로 사용합니다.
+ */
+public final class AtbashParallel {
+
+    /**
+     * 병렬 처리를 시작하는 기본 임계값 (문자열은 문자 수, 파일은 바이트 수).
+     * {@code -Datbash.parallel.threshold=...}로 바꿀 수 있습니다.
+     */
+    public static final int DEFAULT_THRESHOLD = Integer.getInteger("atbash.parallel.threshold", 1 << 20);
+
+    /** 파일 조각 하나의 최대 크기 (매핑 구간 크기와 같음) */
+    private static final int MAX_FILE_CHUNK = 64 * 1024 * 1024;
+
+    private AtbashParallel() {
+    }
+
+    /**
+     * 문자열을 병렬로 변환합니다. 결과는 {@link AtbashCipher#transform(String)}과 같습니다.
+     */
+    public static String transform(String text) {
+        return transform(text, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * 문자열을 병렬로 변환합니다.
+     *
+     * @param text      변환할 원본 문자열
+     * @param threshold 이 길이보다 짧으면 순차적으로 변환
+     * @return 아트배쉬 변환이 적용된 문자열
+     */
+    public static String transform(String text, int threshold) {
+        if (text == null || text.length() < threshold) {
+            return AtbashCipher.transform(text);
+        }
+        char[] result = new char[text.length()];
+        text.getChars(0, result.length, result, 0);
+        transformInPlace(result, 0, result.length, threshold);
+        return new String(result);
+    }
+
+    /**
+     * 배열의 지정된 구간을 병렬로 제자리 변환합니다.
+     *
+     * @param chars     변환할 배열
+     * @param offset    시작 위치
+     * @param length    변환할 길이
+     * @param threshold 한 작업이 순차적으로 처리할 최대 길이
+     */
+    public static void transformInPlace(char[] chars, int offset, int length, int threshold) {
+        if (offset < 0 || length < 0 || offset + length > chars.length) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", length " + length + ", array " + chars.length);
+        }
+        if (length < threshold) {
+            AtbashCipher.transformInPlace(chars, offset, length);
+            return;
+        }
+        int chunk = Math.max(threshold, length / (ForkJoinPool.getCommonPoolParallelism() * 4));
+        ForkJoinPool.commonPool().invoke(new CharRangeTask(chars, offset, offset + length, Math.max(chunk, 1)));
+    }
+
+    /**
+     * 파일을 병렬로 변환하여 대상 파일에 씁니다. 결과는 {@link AtbashFiles#transform(Path, Path)}와 같습니다.
+     */
+    public static long transform(Path source, Path target) throws IOException {
+        return transform(source, target, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * 파일을 조각으로 나누어 병렬로 변환합니다. 조각 경계는 UTF-8 문자 경계에 맞춰집니다.
+     *
+     * @param source    UTF-8로 인코딩된 원본 파일
+     * @param target    변환 결과를 쓸 파일
+     * @param threshold 이 크기(바이트)보다 작으면 순차적으로 변환
+     * @return 변환한 바이트 수
+     * @throws IOException 파일을 읽거나 쓰는 중 오류가 발생한 경우
+     */
+    public static long transform(Path source, Path target, long threshold) throws IOException {
+        long size = Files.size(source);
+        if (size == 0 || size < threshold || (Files.exists(target) && Files.isSameFile(source, target))) {
+            return AtbashFiles.transform(source, target);
+        }
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // 매핑 전에 출력 파일 크기를 미리 잡아 두어 작업마다 파일을 늘리지 않도록 함
+            out.write(ByteBuffer.allocate(1), size - 1);
+
+            long chunk = Math.max(threshold, size / (ForkJoinPool.getCommonPoolParallelism() * 4L));
+            chunk = Math.max(1, Math.min(chunk, MAX_FILE_CHUNK));
+            List<FileChunkTask> tasks = new ArrayList<>();
+            for (long start = 0; start < size; start += chunk) {
+                tasks.add(new FileChunkTask(in, out, start, Math.min(start + chunk, size), size));
+            }
+            try {
+                ForkJoinTask.invokeAll(tasks);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return size;
+        }
+    }
+
+    /**
+     * 배열 구간을 반으로 나누며 변환하는 작업입니다.
+     * 서로게이트는 변환되지 않지만, 서로게이트 쌍이 서로 다른 작업으로 나뉘지 않도록 분할 지점을 맞춥니다.
+     */
+    private static final class CharRangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final char[] chars;
+        private final int from;
+        private final int to;
+        private final int chunk;
+
+        CharRangeTask(char[] chars, int from, int to, int chunk) {
+            this.chars = chars;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected void compute() {
+            // 3자 이상이어야 분할 지점을 서로게이트 쌍 뒤로 옮겨도 끝에 닿지 않음 (2자짜리 쌍 하나는 나눌 수 없음)
+            if (to - from <= Math.max(chunk, 2)) {
+                AtbashCipher.transformInPlace(chars, from, to - from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            if (Character.isHighSurrogate(chars[mid - 1]) && Character.isLowSurrogate(chars[mid])) {
+                mid++;
+            }
+            invokeAll(new CharRangeTask(chars, from, mid, chunk), new CharRangeTask(chars, mid, to, chunk));
+        }
+    }
+
+    /**
+     * 파일의 [start, end) 구간을 변환하는 작업입니다.
+     * 양 끝을 다음 UTF-8 문자 시작 위치로 옮기므로, 이웃한 작업은 항상 같은 경계를 계산합니다.
+     */
+    private static final class FileChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient FileChannel in;
+        private final transient FileChannel out;
+        private final long start;
+        private final long end;
+        private final long size;
+
+        FileChunkTask(FileChannel in, FileChannel out, long start, long end, long size) {
+            this.in = in;
+            this.out = out;
+            this.start = start;
+            this.end = end;
+            this.size = size;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                // 끝 경계를 맞추기 위해 최대 3바이트를 더 매핑
+                int mapped = (int) (Math.min(end + 3, size) - start);
+                MappedByteBuffer src = in.map(FileChannel.MapMode.READ_ONLY, start, mapped);
+                int from = start == 0 ? 0 : AtbashUtf8.alignForward(src, 0, mapped);
+                int to = end == size ? mapped : AtbashUtf8.alignForward(src, (int) (end - start), mapped);
+                if (from >= to) {
+                    return;
+                }
+                MappedByteBuffer dst = out.map(FileChannel.MapMode.READ_WRITE, start, to);
+                AtbashUtf8.transform(src, dst, from, to, true);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
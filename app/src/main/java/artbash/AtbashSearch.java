@@ -0,0 +1,390 @@
+package artbash;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 아트배쉬로 암호화된 UTF-8 파일에서 평문을 복호화하지 않고 찾습니다.
+ * 아트배쉬는 자기 역함수이므로 찾을 평문을 변환한 바이트열이 곧 암호문에 나타나는 모양이며,
+ * 파일을 메모리 매핑한 뒤 조각마다 병렬로 Boyer–Moore–Horspool 검색을 실행합니다.
+ * 찾은 위치 주변의 문맥은 {@link Match#snippet(int)}을 호출할 때 그 부분만 읽어 복호화합니다.
+ * <pre>
+ * try (AtbashSearch search = AtbashSearch.open(path)) {
+ *     for (AtbashSearch.Match match : search.find("password", 100)) {
+ *         System.out.println(match.offset() + ": " + match.snippet(80));
+ *     }
+ * }
+ * </pre>
+ */
+public final class AtbashSearch implements Closeable {
+
+    /** 작업 하나가 검색하는 조각의 최대 크기 (매핑 구간 크기와 같음) */
+    private static final int MAX_CHUNK = 64 * 1024 * 1024;
+
+    /** 이보다 작게는 조각을 나누지 않음 */
+    private static final int MIN_CHUNK = 1024 * 1024;
+
+    /** 조각을 검색할 때 한 번에 배열로 옮기는 크기 */
+    private static final int WINDOW_SIZE = 256 * 1024;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final long size;
+
+    private AtbashSearch(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+    }
+
+    /**
+     * 암호화된 파일을 검색하기 위해 엽니다.
+     */
+    public static AtbashSearch open(Path file) throws IOException {
+        return new AtbashSearch(file);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    /**
+     * 평문 {@code plaintext}가 암호문에 나타나는 위치를 앞에서부터 최대 {@code limit}개 찾습니다.
+     *
+     * @param plaintext 찾을 평문 (비어 있으면 안 됨)
+     * @param limit     반환할 최대 개수
+     * @return 바이트 위치 순서로 정렬된 검색 결과
+     */
+    public List<Match> find(String plaintext, int limit) throws IOException {
+        byte[] pattern = encode(plaintext);
+        if (limit < 0) {
+            throw new IllegalArgumentException("negative limit: " + limit);
+        }
+        List<Match> matches = new ArrayList<>();
+        if (limit == 0) {
+            return matches;
+        }
+        AtbashEvents.SearchEvent event = new AtbashEvents.SearchEvent();
+        event.begin();
+        for (long offset : scan(pattern, limit)) {
+            matches.add(new Match(offset, pattern.length));
+        }
+        commit(event, matches.size());
+        return matches;
+    }
+
+    /**
+     * 평문 {@code plaintext}가 암호문에 나타나는 횟수를 셉니다. 위치는 저장하지 않습니다.
+     */
+    public long count(String plaintext) throws IOException {
+        byte[] pattern = encode(plaintext);
+        AtbashEvents.SearchEvent event = new AtbashEvents.SearchEvent();
+        event.begin();
+        long total = 0;
+        for (SearchTask task : runTasks(pattern, 0)) {
+            total += task.count;
+        }
+        commit(event, total);
+        return total;
+    }
+
+    private void commit(AtbashEvents.SearchEvent event, long matches) {
+        if (event.shouldCommit()) {
+            event.path = path.toString();
+            event.bytes = size;
+            event.matches = matches;
+            event.commit();
+        }
+    }
+
+    private static byte[] encode(String plaintext) {
+        if (plaintext == null || plaintext.isEmpty()) {
+            throw new IllegalArgumentException("empty query");
+        }
+        return AtbashCipher.transform(plaintext).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private long[] scan(byte[] pattern, int limit) throws IOException {
+        List<SearchTask> tasks = runTasks(pattern, limit);
+        int total = 0;
+        for (SearchTask task : tasks) {
+            total = (int) Math.min(limit, (long) total + task.count);
+        }
+        long[] offsets = new long[total];
+        int count = 0;
+        for (SearchTask task : tasks) {
+            int take = Math.min(task.count, total - count);
+            System.arraycopy(task.offsets, 0, offsets, count, take);
+            count += take;
+        }
+        return offsets;
+    }
+
+    /**
+     * 파일을 조각으로 나누어 병렬로 검색합니다. 조각은 패턴 길이 - 1 바이트만큼 다음 조각과 겹쳐 읽으며,
+     * 조각 안에서 시작하는 일치만 그 조각의 결과로 셉니다.
+     *
+     * @param limit 조각마다 기록할 최대 위치 수 (0이면 세기만 함)
+     */
+    private List<SearchTask> runTasks(byte[] pattern, int limit) throws IOException {
+        List<SearchTask> tasks = new ArrayList<>();
+        if (size < pattern.length) {
+            return tasks;
+        }
+        int[] shift = shiftTable(pattern);
+        long chunk = Math.max(MIN_CHUNK, size / (ForkJoinPool.getCommonPoolParallelism() * 4L));
+        chunk = Math.min(chunk, MAX_CHUNK);
+        for (long start = 0; start < size; start += chunk) {
+            tasks.add(new SearchTask(pattern, shift, start, Math.min(start + chunk, size), limit));
+        }
+        try {
+            ForkJoinTask.invokeAll(tasks);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return tasks;
+    }
+
+    /** Horspool 건너뛰기 표: 창의 마지막 바이트가 b일 때 옮길 거리 */
+    private static int[] shiftTable(byte[] pattern) {
+        int[] shift = new int[256];
+        Arrays.fill(shift, pattern.length);
+        for (int i = 0; i < pattern.length - 1; i++) {
+            shift[pattern[i] & 0xFF] = pattern.length - 1 - i;
+        }
+        return shift;
+    }
+
+    /**
+     * 위치 주변을 읽어 복호화한 문맥을 만듭니다. 앞뒤로 최대 {@code context} 바이트를 포함하되,
+     * 줄바꿈을 넘지 않고 UTF-8 문자 경계에 맞춥니다.
+     */
+    private String snippet(long offset, int length, int context) throws IOException {
+        long from = Math.max(0, offset - context);
+        long to = Math.min(size, offset + length + context);
+        // 끝 경계를 맞추기 위해 최대 3바이트를 더 읽음
+        ByteBuffer buffer = ByteBuffer.allocate((int) (Math.min(size, to + 3) - from));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, from + buffer.position()) < 0) {
+                break;
+            }
+        }
+        int limit = buffer.position();
+        int matchStart = (int) (offset - from);
+        int matchEnd = Math.min(limit, matchStart + length);
+        int start = from == 0 ? 0 : AtbashUtf8.alignForward(buffer, 0, matchStart);
+        int end = to == size ? limit : AtbashUtf8.alignForward(buffer, Math.min(limit, (int) (to - from)), limit);
+        for (int i = matchStart - 1; i >= start; i--) {
+            if (buffer.get(i) == '\n') {
+                start = i + 1;
+                break;
+            }
+        }
+        for (int i = matchEnd; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b == '\n' || b == '\r') {
+                end = i;
+                break;
+            }
+        }
+        return new String(buffer.array(), start, end - start, AtbashCharset.INSTANCE);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * 명령줄에서 암호화된 파일을 검색합니다. 찾은 위치마다 바이트 위치와 복호화한 문맥을 한 줄씩 출력합니다.
+     * <pre>
+     * java -cp artbash.jar artbash.AtbashSearch archive.txt "password" [--limit 100] [--count]
+     * </pre>
+     */
+    public static void main(String[] args) throws IOException {
+        Path file = null;
+        String query = null;
+        int limit = 100;
+        boolean countOnly = false;
+        for (int i = 0; i < args.length; i++) {
+            if ("--limit".equals(args[i]) && i + 1 < args.length) {
+                limit = Integer.parseInt(args[++i]);
+            } else if ("--count".equals(args[i])) {
+                countOnly = true;
+            } else if (file == null && !args[i].startsWith("-")) {
+                file = Paths.get(args[i]);
+            } else if (query == null && !args[i].startsWith("-")) {
+                query = args[i];
+            } else {
+                file = null;
+                break;
+            }
+        }
+        if (file == null || query == null || query.isEmpty()) {
+            System.err.println("Usage: java -cp artbash.jar artbash.AtbashSearch <file> <query> [--limit <n>] [--count]");
+            System.exit(2);
+        }
+        try (AtbashSearch search = open(file)) {
+            long start = System.nanoTime();
+            if (countOnly) {
+                System.out.println(search.count(query));
+            } else {
+                for (Match match : search.find(query, limit)) {
+                    System.out.println(match.offset() + ": " + match.snippet(80));
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.err.printf("Searched %d bytes in %.3f s (%.1f MB/s)%n",
+                    search.size(), seconds, search.size() / 1e6 / Math.max(seconds, 1e-9));
+        }
+    }
+
+    /**
+     * 검색 결과 하나입니다. 문맥은 요청할 때 파일에서 읽으므로 검색기를 닫기 전에 호출해야 합니다.
+     */
+    public final class Match {
+        private final long offset;
+        private final int length;
+
+        private Match(long offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+
+        /** 일치가 시작하는 바이트 위치 */
+        public long offset() {
+            return offset;
+        }
+
+        /** 일치한 바이트 수 (평문을 UTF-8로 인코딩한 길이와 같음) */
+        public int length() {
+            return length;
+        }
+
+        /**
+         * 일치한 부분과 앞뒤 문맥을 복호화하여 반환합니다.
+         *
+         * @param context 앞뒤로 포함할 최대 바이트 수 (같은 줄 안으로 제한됨)
+         */
+        public String snippet(int context) throws IOException {
+            return AtbashSearch.this.snippet(offset, length, Math.max(0, context));
+        }
+
+        @Override
+        public String toString() {
+            return "Match[offset=" + offset + ", length=" + length + "]";
+        }
+    }
+
+    /**
+     * 파일의 [start, end) 구간에서 시작하는 일치를 찾는 작업입니다.
+     */
+    private final class SearchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] pattern;
+        private final int[] shift;
+        private final long start;
+        private final long end;
+        private final int limit;
+        private long[] offsets = new long[0];
+        private int count;
+
+        SearchTask(byte[] pattern, int[] shift, long start, long end, int limit) {
+            this.pattern = pattern;
+            this.shift = shift;
+            this.start = start;
+            this.end = end;
+            this.limit = limit;
+        }
+
+        @Override
+        protected void compute() {
+            int m = pattern.length;
+            int mapped = (int) (Math.min(end + m - 1, size) - start);
+            MappedByteBuffer buffer;
+            try {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, mapped);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            // 매핑한 구간을 작은 배열로 옮겨 가며 검색 (배열 접근이 버퍼 접근보다 빠름)
+            // 창은 패턴 길이 - 1 바이트씩 겹치므로 창 경계에 걸친 일치도 찾음
+            byte[] window = new byte[Math.max(WINDOW_SIZE, 2 * m)];
+            int lastStart = (int) (end - start);
+            int position = 0;
+            while (position < lastStart && position + m <= mapped) {
+                int length = Math.min(window.length, mapped - position);
+                buffer.get(position, window, 0, length);
+                int starts = Math.min(length - m + 1, lastStart - position);
+                if (!searchWindow(window, starts, position)) {
+                    return;
+                }
+                position += starts;
+            }
+        }
+
+        /**
+         * 배열에서 [0, starts) 안에서 시작하는 일치를 찾습니다.
+         *
+         * @return 더 찾아야 하면 true
+         */
+        private boolean searchWindow(byte[] window, int starts, int windowOffset) {
+            byte[] pattern = this.pattern;
+            int[] shift = this.shift;
+            int last = pattern.length - 1;
+            byte lastByte = pattern[last];
+            int i = 0;
+            while (i < starts) {
+                byte b = window[i + last];
+                if (b == lastByte && matchesAt(window, i) && !record(start + windowOffset + i)) {
+                    return false;
+                }
+                i += shift[b & 0xFF];
+            }
+            return true;
+        }
+
+        private boolean matchesAt(byte[] window, int index) {
+            for (int j = pattern.length - 2; j >= 0; j--) {
+                if (window[index + j] != pattern[j]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @return 더 찾아야 하면 true, 이 조각에서 필요한 만큼 찾았으면 false
+         */
+        private boolean record(long offset) {
+            if (limit == 0) {
+                count++;
+                return true;
+            }
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, Math.min(limit, Math.max(16, count * 2)));
+            }
+            offsets[count++] = offset;
+            return count < limit;
+        }
+    }
+}
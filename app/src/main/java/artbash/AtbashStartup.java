@@ -0,0 +1,164 @@
+package artbash;
+
+import java.awt.BorderLayout;
+import java.awt.Component;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.time.Instant;
+import javax.swing.*;
+import javax.swing.filechooser.FileSystemView;
+
+/**
+ * 빠른 시작을 위한 도구 모음입니다.
+ * <ul>
+ *   <li>창이 뜬 뒤 백그라운드에서 글꼴과 파일 시스템 정보를 미리 불러와 첫 파일 대화상자가 빨리 열리도록 합니다.</li>
+ *   <li>첫 화면이 뜨기까지의 시간과 파일 대화상자가 열리기까지의 시간을 JFR 이벤트로 남기며,
+ *       {@code -Datbash.metrics=true}이면 표준 오류로도 출력합니다.</li>
+ *   <li>{@link #main(String[])}은 클래스 데이터 공유(AppCDS) 아카이브를 만들 때 쓰는 학습 실행입니다.</li>
+ * </ul>
+ * 미리 불러오기는 {@code -Datbash.warmup=false}로 끌 수 있습니다.
+ */
+public final class AtbashStartup {
+
+    /** 화면에 그리는 글꼴 (GUI와 같은 글꼴) */
+    private static final Font[] FONTS = {
+            new Font("SansSerif", Font.PLAIN, 14),
+            new Font("SansSerif", Font.BOLD, 13),
+            new Font("SansSerif", Font.PLAIN, 12)
+    };
+
+    /** 글꼴과 대체 글꼴을 모두 불러오도록 영문과 한글을 섞은 문장 */
+    private static final String SAMPLE_TEXT = "The quick brown fox 아트배쉬 암호화/복호화 툴 0123456789";
+
+    private static final boolean METRICS = Boolean.getBoolean("atbash.metrics");
+
+    private AtbashStartup() {
+    }
+
+    /**
+     * 백그라운드 스레드에서 글꼴과 파일 시스템 정보를 미리 불러온 뒤 이벤트 디스패치 스레드에서 {@code whenReady}를 실행합니다.
+     * 첫 화면을 그리는 데 방해가 되지 않도록 창을 띄운 뒤에 호출합니다.
+     */
+    static void warmUp(Runnable whenReady) {
+        if (!Boolean.parseBoolean(System.getProperty("atbash.warmup", "true"))) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            long start = System.nanoTime();
+            warmUpFonts();
+            warmUpFileSystemView();
+            SwingUtilities.invokeLater(() -> {
+                whenReady.run();
+                report("Warm-up finished in %d ms", (System.nanoTime() - start) / 1_000_000);
+            });
+        }, "artbash-warmup");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    private static void warmUpFonts() {
+        BufferedImage image = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        for (Font font : FONTS) {
+            g.setFont(font);
+            g.getFontMetrics().stringWidth(SAMPLE_TEXT);
+            g.drawString(SAMPLE_TEXT, 0, 0);
+        }
+        g.dispose();
+    }
+
+    /**
+     * JFileChooser가 처음 열릴 때 느린 부분(루트 목록, 기본 디렉터리 읽기, 시스템 아이콘)을 미리 실행합니다.
+     */
+    private static void warmUpFileSystemView() {
+        FileSystemView view = FileSystemView.getFileSystemView();
+        view.getRoots();
+        File directory = view.getDefaultDirectory();
+        view.getSystemIcon(directory);
+        view.getFiles(directory, true);
+    }
+
+    /**
+     * 창이 처음 그려진 시점을 기록합니다. 창을 띄운 직후 이벤트 디스패치 스레드에서 호출합니다.
+     */
+    static void firstFrameShown() {
+        // 이미 대기 중인 첫 그리기 이벤트가 처리된 뒤에 측정
+        SwingUtilities.invokeLater(() -> {
+            long millis = millisSinceJvmStart();
+            AtbashEvents.StartupEvent event = new AtbashEvents.StartupEvent();
+            if (event.shouldCommit()) {
+                event.firstFrameMillis = millis;
+                event.commit();
+            }
+            report("First frame after %d ms", millis);
+        });
+    }
+
+    /**
+     * 파일 대화상자가 열리기까지 걸린 시간을 알립니다.
+     */
+    static void fileDialogShown(String dialog, long nanos, boolean reused) {
+        report("%s dialog shown after %d ms%s", dialog, nanos / 1_000_000, reused ? "" : " (first use)");
+    }
+
+    private static long millisSinceJvmStart() {
+        Instant start = ProcessHandle.current().info().startInstant().orElse(null);
+        return start == null ? -1 : System.currentTimeMillis() - start.toEpochMilli();
+    }
+
+    private static void report(String format, Object... args) {
+        if (METRICS) {
+            System.err.printf("[artbash] " + format + "%n", args);
+        }
+    }
+
+    /**
+     * AppCDS 학습 실행입니다. 화면 없이 시작 경로에서 쓰는 클래스를 불러오고 끝나므로,
+     * {@code -XX:ArchiveClassesAtExit}와 함께 실행하면 그 클래스들이 아카이브에 담깁니다.
+     * <pre>
+     * java -XX:ArchiveClassesAtExit=artbash.jsa -Djava.awt.headless=true -cp artbash.jar artbash.AtbashStartup
+     * </pre>
+     */
+    public static void main(String[] args) throws Exception {
+        UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
+        warmUpFonts();
+        warmUpFileSystemView();
+
+        // 창은 화면 없이 만들 수 없으므로 창 안에 들어가는 컴포넌트를 만들어 이미지에 그림
+        JTextArea text = new JTextArea(AtbashCipher.transform(SAMPLE_TEXT));
+        text.setFont(FONTS[0]);
+        text.setLineWrap(true);
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.add(new JScrollPane(text), BorderLayout.CENTER);
+        JPanel buttons = new JPanel();
+        buttons.add(new JButton(SAMPLE_TEXT));
+        buttons.add(new JProgressBar());
+        buttons.add(new JLabel(SAMPLE_TEXT));
+        panel.add(buttons, BorderLayout.SOUTH);
+        JMenuBar menuBar = new JMenuBar();
+        JMenu menu = new JMenu(SAMPLE_TEXT);
+        menu.add(new JMenuItem(SAMPLE_TEXT));
+        menu.add(new JRadioButtonMenuItem(SAMPLE_TEXT));
+        menu.add(new JCheckBoxMenuItem(SAMPLE_TEXT));
+        menuBar.add(menu);
+        panel.add(menuBar, BorderLayout.NORTH);
+        panel.setSize(600, 500);
+        panel.doLayout();
+        for (Component child : panel.getComponents()) {
+            child.doLayout();
+        }
+        BufferedImage image = new BufferedImage(600, 500, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        panel.paint(g);
+        g.dispose();
+        new JFileChooser();
+
+        // 앱 클래스
+        Class.forName("artbash.AtbashCipherGUI");
+        AtbashCharset.INSTANCE.newDecoder();
+        AtbashCharset.INSTANCE.newEncoder();
+    }
+}
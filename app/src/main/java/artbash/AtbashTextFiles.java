@@ -0,0 +1,339 @@
+package artbash;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * 텍스트 파일 전체를 문자로 읽고 쓰는 NIO 경로입니다. 편집기처럼 내용을 화면에 올리는 곳에서 씁니다.
+ * <ul>
+ *   <li>읽기: {@link #detect(Path)}로 BOM과 앞부분을 보고 문자셋을 정한 뒤 큰 직접 버퍼로 조각씩 디코딩합니다.</li>
+ *   <li>쓰기: 같은 디렉터리의 임시 파일에 명시한 문자셋으로 인코딩하여 쓰고, 디스크에 내린 뒤 원자적으로 바꿔 넣습니다.
+ *       중간에 실패하거나 취소되어도 기존 파일은 그대로 남습니다.</li>
+ * </ul>
+ * 디코딩과 인코딩은 잘못된 입력이나 표현할 수 없는 문자를 바꾸지 않고 {@link CharacterCodingException}으로 알립니다.
+ * 일부만 잘못된 파일은 {@link #read(Path, Charset, CodingErrorAction, Consumer, LongConsumer)}에
+ * {@link CodingErrorAction#REPLACE}를 주어 잘못된 바이트만 대체 문자로 바꿔 다시 읽을 수 있습니다.
+ * 진행 콜백은 조각마다 지금까지 처리한 바이트 수(읽기) 또는 문자 수(쓰기)와 함께 호출되며,
+ * 콜백에서 예외를 던지면 작업을 멈춥니다.
+ */
+public final class AtbashTextFiles {
+
+    /** 읽기와 쓰기에 쓰는 직접 버퍼의 크기 */
+    static final int BUFFER_SIZE = 1024 * 1024;
+
+    /** 문자셋을 판단할 때 읽는 앞부분의 크기 */
+    private static final int DETECT_SIZE = 64 * 1024;
+
+    /**
+     * BOM이 없고 앞부분이 올바른 UTF-8이 아닐 때 쓰는 문자셋입니다.
+     * 한글 윈도에서 만든 파일이 많으므로 MS949(CP949)를, 없으면 어떤 바이트도 읽을 수 있는 ISO-8859-1을 씁니다.
+     */
+    public static final Charset FALLBACK_CHARSET = Charset.isSupported("x-windows-949")
+            ? Charset.forName("x-windows-949") : StandardCharsets.ISO_8859_1;
+
+    private AtbashTextFiles() {
+    }
+
+    /**
+     * 파일의 문자셋을 판단합니다.
+     * UTF-8, UTF-16LE, UTF-16BE BOM이 있으면 그 문자셋을, 없으면 앞부분이 올바른 UTF-8일 때 UTF-8을,
+     * 그렇지 않으면 {@link #FALLBACK_CHARSET}을 반환합니다. 빈 파일은 UTF-8로 봅니다.
+     * 앞부분만 보므로 뒷부분의 잘못된 바이트는 {@link #read}가 디코딩하면서 알립니다.
+     * 그때는 같은 문자셋에 {@link CodingErrorAction#REPLACE}를 주어 다시 읽으면 됩니다.
+     */
+    public static Charset detect(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer head = ByteBuffer.allocate(DETECT_SIZE);
+            while (head.hasRemaining() && channel.read(head) > 0) {
+                // 앞부분을 채울 때까지 읽음
+            }
+            head.flip();
+            Charset bom = charsetOfBom(head);
+            if (bom != null) {
+                return bom;
+            }
+            boolean wholeFile = head.limit() == channel.size();
+            CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT);
+            CharBuffer chars = CharBuffer.allocate(DETECT_SIZE);
+            // 파일 전체가 아니면 끝에서 잘린 시퀀스는 오류로 보지 않음
+            CoderResult result = decoder.decode(head, chars, wholeFile);
+            if (!result.isError() && wholeFile) {
+                result = decoder.flush(chars);
+            }
+            return result.isError() ? FALLBACK_CHARSET : StandardCharsets.UTF_8;
+        }
+    }
+
+    /**
+     * 문자셋을 판단하여 파일을 읽습니다.
+     *
+     * @see #read(Path, Charset, Consumer, LongConsumer)
+     */
+    public static long read(Path file, Consumer<String> chunks, LongConsumer onProgress) throws IOException {
+        return read(file, detect(file), chunks, onProgress);
+    }
+
+    /**
+     * 파일을 주어진 문자셋으로 디코딩하여 조각씩 넘깁니다. 파일 앞의 BOM은 건너뜁니다.
+     *
+     * @param chunks     디코딩한 문자 조각을 받음. 조각은 최대 {@link #BUFFER_SIZE}자
+     * @param onProgress 조각마다 지금까지 읽은 바이트 수와 함께 호출됨
+     * @return 읽은 문자 수
+     * @throws CharacterCodingException 파일이 그 문자셋으로 올바르지 않은 경우
+     */
+    public static long read(Path file, Charset charset, Consumer<String> chunks, LongConsumer onProgress)
+            throws IOException {
+        return read(file, charset, CodingErrorAction.REPORT, chunks, onProgress);
+    }
+
+    /**
+     * 파일을 주어진 문자셋으로 디코딩하여 조각씩 넘깁니다. 파일 앞의 BOM은 건너뜁니다.
+     *
+     * @param onError    잘못된 입력과 대응하는 문자가 없는 입력의 처리 방법.
+     *                   {@link CodingErrorAction#REPLACE}면 그 바이트만 대체 문자(U+FFFD)로 바꿈
+     * @param chunks     디코딩한 문자 조각을 받음. 조각은 최대 {@link #BUFFER_SIZE}자
+     * @param onProgress 조각마다 지금까지 읽은 바이트 수와 함께 호출됨
+     * @return 읽은 문자 수
+     * @throws CharacterCodingException {@code onError}가 {@link CodingErrorAction#REPORT}이고 파일이 그 문자셋으로 올바르지 않은 경우
+     */
+    public static long read(Path file, Charset charset, CodingErrorAction onError, Consumer<String> chunks,
+                            LongConsumer onProgress) throws IOException {
+        CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(onError)
+                .onUnmappableCharacter(onError);
+        ByteBuffer bytes = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+        long characters = 0;
+        long position = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // BOM을 확인할 수 있을 만큼 먼저 읽음
+            int read = 0;
+            while (bytes.position() < 3 && (read = channel.read(bytes)) >= 0) {
+                // 계속 읽음
+            }
+            boolean endOfInput = read < 0;
+            position = bytes.position();
+            bytes.flip();
+            skipBom(bytes, charset);
+            while (true) {
+                CoderResult result;
+                do {
+                    result = decoder.decode(bytes, chars, endOfInput);
+                    if (result.isError()) {
+                        result.throwException();
+                    }
+                    characters += emit(chars, chunks);
+                } while (result.isOverflow());
+                onProgress.accept(position);
+                if (endOfInput) {
+                    while (decoder.flush(chars).isOverflow()) {
+                        characters += emit(chars, chunks);
+                    }
+                    characters += emit(chars, chunks);
+                    break;
+                }
+                bytes.compact();
+                read = channel.read(bytes);
+                endOfInput = read < 0;
+                if (read > 0) {
+                    position += read;
+                }
+                bytes.flip();
+            }
+        }
+        return characters;
+    }
+
+    /**
+     * 텍스트를 주어진 문자셋으로 인코딩하여 파일에 씁니다.
+     * 같은 디렉터리의 임시 파일에 쓰고 디스크에 내린 뒤 원래 이름으로 원자적으로 옮기므로,
+     * 쓰는 도중에 실패하거나 {@code onProgress}가 예외를 던지면 기존 파일은 바뀌지 않고 임시 파일은 지워집니다.
+     *
+     * @param onProgress 조각마다 지금까지 쓴 문자 수와 함께 호출됨
+     * @return 쓴 바이트 수
+     * @throws CharacterCodingException 텍스트에 그 문자셋으로 표현할 수 없는 문자가 있는 경우
+     */
+    public static long write(Path file, CharSequence text, Charset charset, LongConsumer onProgress)
+            throws IOException {
+        Path temp = createTempFile(file);
+        try {
+            long bytes = encode(temp, text, charset, onProgress);
+            replace(temp, file);
+            return bytes;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 대상 파일과 같은 디렉터리에 숨은 임시 파일을 만듭니다. 같은 파일 시스템이어야 원자적으로 옮길 수 있음.
+     * <p>
+     * 옮긴 뒤에도 대상 파일의 권한이 바뀌지 않도록, 대상이 이미 있으면 POSIX 권한과 그룹을 임시 파일에 복사합니다.
+     * 새 파일이면 {@link Files#createTempFile}의 소유자 전용 권한(0600) 대신 일반 파일처럼 umask를 따르는 권한으로 만듭니다.
+     */
+    static Path createTempFile(Path target) throws IOException {
+        Path absolute = target.toAbsolutePath();
+        Path temp;
+        while (true) {
+            String suffix = Long.toUnsignedString(ThreadLocalRandom.current().nextLong());
+            try {
+                temp = Files.createFile(absolute.resolveSibling("." + absolute.getFileName() + "." + suffix + ".tmp"));
+                break;
+            } catch (FileAlreadyExistsException e) {
+                // 드물게 이름이 겹치면 다른 이름으로 다시 시도
+            }
+        }
+        try {
+            copyPermissions(absolute, temp);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        return temp;
+    }
+
+    private static void copyPermissions(Path target, Path temp) throws IOException {
+        PosixFileAttributeView view = Files.getFileAttributeView(temp, PosixFileAttributeView.class);
+        if (view == null || !Files.exists(target)) {
+            return;
+        }
+        PosixFileAttributes attributes = Files.readAttributes(target, PosixFileAttributes.class);
+        view.setPermissions(attributes.permissions());
+        try {
+            view.setGroup(attributes.group());
+        } catch (IOException e) {
+            // 그 그룹에 속하지 않으면 바꿀 수 없음. 권한만 맞추고 그룹은 기본값으로 둠
+        }
+    }
+
+    /**
+     * 임시 파일을 대상 파일 자리로 옮깁니다. 원자적 이동을 지원하지 않는 파일 시스템에서는 보통 이동으로 대신합니다.
+     */
+    static void replace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static long encode(Path file, CharSequence text, Charset charset, LongConsumer onProgress)
+            throws IOException {
+        CharsetEncoder encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        ByteBuffer bytes = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        char[] chunk = new char[BUFFER_SIZE];
+        int length = text.length();
+        long written = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            CharBuffer chars = CharBuffer.wrap(chunk, 0, 0);
+            int done = 0;
+            boolean endOfInput = false;
+            while (!endOfInput) {
+                // 앞 조각에서 남은 문자(잘린 서로게이트 쌍)를 앞으로 당기고 다음 조각을 채움
+                chars.compact();
+                int count = Math.min(chars.remaining(), length - done);
+                getChars(text, done, done + count, chunk, chars.position());
+                chars.position(chars.position() + count);
+                done += count;
+                endOfInput = done == length;
+                chars.flip();
+
+                CoderResult result;
+                do {
+                    result = encoder.encode(chars, bytes, endOfInput);
+                    if (result.isError()) {
+                        result.throwException();
+                    }
+                    written += drain(bytes, channel);
+                } while (result.isOverflow());
+                onProgress.accept(done);
+            }
+            while (encoder.flush(bytes).isOverflow()) {
+                written += drain(bytes, channel);
+            }
+            written += drain(bytes, channel);
+            channel.force(true);
+        }
+        return written;
+    }
+
+    private static void getChars(CharSequence text, int start, int end, char[] dst, int dstOffset) {
+        if (text instanceof String) {
+            ((String) text).getChars(start, end, dst, dstOffset);
+        } else {
+            for (int i = start; i < end; i++) {
+                dst[dstOffset++] = text.charAt(i);
+            }
+        }
+    }
+
+    private static int drain(ByteBuffer bytes, FileChannel channel) throws IOException {
+        bytes.flip();
+        int count = bytes.remaining();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        bytes.clear();
+        return count;
+    }
+
+    private static long emit(CharBuffer chars, Consumer<String> chunks) {
+        chars.flip();
+        int count = chars.remaining();
+        if (count > 0) {
+            chunks.accept(chars.toString());
+        }
+        chars.clear();
+        return count;
+    }
+
+    private static Charset charsetOfBom(ByteBuffer head) {
+        int b0 = head.remaining() > 0 ? head.get(0) & 0xFF : -1;
+        int b1 = head.remaining() > 1 ? head.get(1) & 0xFF : -1;
+        int b2 = head.remaining() > 2 ? head.get(2) & 0xFF : -1;
+        if (b0 == 0xEF && b1 == 0xBB && b2 == 0xBF) {
+            return StandardCharsets.UTF_8;
+        } else if (b0 == 0xFF && b1 == 0xFE) {
+            return StandardCharsets.UTF_16LE;
+        } else if (b0 == 0xFE && b1 == 0xFF) {
+            return StandardCharsets.UTF_16BE;
+        }
+        return null;
+    }
+
+    /**
+     * 파일 앞의 BOM이 그 문자셋의 것이면 건너뜁니다.
+     * UTF-16LE와 UTF-16BE 디코더는 BOM을 문자(U+FEFF)로 내보내므로 직접 건너뜀.
+     */
+    private static void skipBom(ByteBuffer bytes, Charset charset) {
+        Charset bom = charsetOfBom(bytes);
+        if (bom != null && bom.equals(charset)) {
+            bytes.position(bytes.position() + (bom.equals(StandardCharsets.UTF_8) ? 3 : 2));
+        }
+    }
+}
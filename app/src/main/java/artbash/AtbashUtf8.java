@@ -0,0 +1,177 @@
+package artbash;
+
+import java.nio.ByteBuffer;
+
+/**
+ * UTF-8로 인코딩된 바이트에 직접 아트배쉬 변환을 수행합니다.
+ * 변환 대상인 영문자는 1바이트, 한글 음절(U+AC00 ~ U+D7A3)은 항상 3바이트 시퀀스이므로
+ * 문자로 디코딩하지 않고도 같은 길이의 바이트로 변환할 수 있습니다.
+ * 올바른 UTF-8 입력에 대해서는 디코딩 후 {@link AtbashCipher#transform(String)}을 적용하고
+ * 다시 인코딩한 결과와 동일하며, 잘못된 시퀀스는 건드리지 않고 그대로 둡니다.
+ */
+final class AtbashUtf8 {
+
+    /** 한글 음절의 선행 바이트 범위 (U+AC00 = EA B0 80, U+D7A3 = ED 9E A3) */
+    private static final int HANGUL_LEAD_MIN = 0xEA;
+    private static final int HANGUL_LEAD_MAX = 0xED;
+
+    /** 이 길이 이상인 구간만 벡터 엔진으로 처리 */
+    private static final int VECTOR_THRESHOLD = 64;
+
+    /** ASCII 바이트(0x00 ~ 0x7F)에 대한 변환 테이블 */
+    private static final byte[] ASCII_TABLE = buildAsciiTable();
+
+    private AtbashUtf8() {
+    }
+
+    private static byte[] buildAsciiTable() {
+        byte[] table = new byte[128];
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (byte) AtbashCipher.transform((char) i);
+        }
+        return table;
+    }
+
+    /**
+     * 배열의 [from, to) 구간을 제자리에서 변환합니다.
+     * 구간 끝에서 한글 음절이 잘려 있으면 그 시작 위치에서 멈추고 해당 위치를 반환하므로,
+     * 호출자는 남은 바이트(최대 2바이트)를 다음 입력 앞에 이어 붙여 다시 호출하면 됩니다.
+     *
+     * @param bytes 변환할 바이트 배열
+     * @param from  시작 위치 (포함)
+     * @param to    끝 위치 (제외)
+     * @param endOfInput 더 이상 이어질 입력이 없으면 true (잘린 시퀀스도 그대로 통과시킴)
+     * @return 변환이 끝난 구간의 끝 위치
+     */
+    static int transform(byte[] bytes, int from, int to, boolean endOfInput) {
+        if (AtbashCipher.VECTORIZED && to - from >= VECTOR_THRESHOLD) {
+            return AtbashVectorEngine.transform(bytes, from, to, endOfInput);
+        }
+        return transformScalar(bytes, from, to, endOfInput);
+    }
+
+    /**
+     * 바이트 단위 스칼라 변환입니다. 벡터 엔진이 ASCII가 아닌 블록과 꼬리 구간을 처리할 때도 사용합니다.
+     */
+    static int transformScalar(byte[] bytes, int from, int to, boolean endOfInput) {
+        byte[] ascii = ASCII_TABLE;
+        int i = from;
+        while (i < to) {
+            int b = bytes[i];
+            if (b >= 0) {
+                bytes[i++] = ascii[b];
+                continue;
+            }
+            b &= 0xFF;
+            if (b < HANGUL_LEAD_MIN || b > HANGUL_LEAD_MAX) {
+                i++;
+                continue;
+            }
+            if (i + 2 >= to) {
+                if (!endOfInput && isTruncatedSequence(bytes, i + 1, to)) {
+                    return i;
+                }
+                i++;
+                continue;
+            }
+            int b1 = bytes[i + 1] & 0xFF;
+            int b2 = bytes[i + 2] & 0xFF;
+            int cp = decode(b, b1, b2);
+            if (cp < 0) {
+                i++;
+                continue;
+            }
+            int mapped = AtbashCipher.transform((char) cp);
+            bytes[i] = (byte) (0xE0 | (mapped >>> 12));
+            bytes[i + 1] = (byte) (0x80 | ((mapped >>> 6) & 0x3F));
+            bytes[i + 2] = (byte) (0x80 | (mapped & 0x3F));
+            i += 3;
+        }
+        return to;
+    }
+
+    /**
+     * 버퍼의 [from, to) 구간을 읽어 변환한 결과를 다른 버퍼의 같은 위치에 씁니다.
+     * 두 버퍼가 같으면 제자리 변환이 됩니다. 버퍼의 position과 limit은 바꾸지 않습니다.
+     *
+     * @return 변환이 끝난 구간의 끝 위치 (의미는 {@link #transform(byte[], int, int, boolean)}과 같음)
+     */
+    static int transform(ByteBuffer src, ByteBuffer dst, int from, int to, boolean endOfInput) {
+        byte[] ascii = ASCII_TABLE;
+        int i = from;
+        while (i < to) {
+            int b = src.get(i);
+            if (b >= 0) {
+                dst.put(i++, ascii[b]);
+                continue;
+            }
+            b &= 0xFF;
+            int cp = -1;
+            if (b >= HANGUL_LEAD_MIN && b <= HANGUL_LEAD_MAX) {
+                if (i + 2 < to) {
+                    cp = decode(b, src.get(i + 1) & 0xFF, src.get(i + 2) & 0xFF);
+                } else if (!endOfInput && isTruncatedSequence(src, i + 1, to)) {
+                    return i;
+                }
+            }
+            if (cp < 0) {
+                dst.put(i, (byte) b);
+                i++;
+                continue;
+            }
+            int mapped = AtbashCipher.transform((char) cp);
+            dst.put(i, (byte) (0xE0 | (mapped >>> 12)));
+            dst.put(i + 1, (byte) (0x80 | ((mapped >>> 6) & 0x3F)));
+            dst.put(i + 2, (byte) (0x80 | (mapped & 0x3F)));
+            i += 3;
+        }
+        return to;
+    }
+
+    /**
+     * 위치부터 UTF-8 연속 바이트(10xxxxxx)를 건너뛰어 다음 문자의 시작 위치를 찾습니다.
+     * 임의의 위치에서 입력을 나눌 때 문자 경계에 맞추기 위해 사용하며, 최대 3바이트까지만 이동합니다.
+     */
+    static int alignForward(ByteBuffer bytes, int index, int limit) {
+        int i = index;
+        while (i < limit && i < index + 3 && isContinuation(bytes.get(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isContinuation(byte b) {
+        return (b & 0xC0) == 0x80;
+    }
+
+    /**
+     * 3바이트 시퀀스를 한글 음절 코드 포인트로 해석합니다.
+     *
+     * @return 한글 음절이면 코드 포인트, 아니면 -1
+     */
+    private static int decode(int b0, int b1, int b2) {
+        if ((b1 & 0xC0) != 0x80 || (b2 & 0xC0) != 0x80) {
+            return -1;
+        }
+        int cp = ((b0 & 0x0F) << 12) | ((b1 & 0x3F) << 6) | (b2 & 0x3F);
+        return (cp >= '가' && cp <= '힣') ? cp : -1;
+    }
+
+    private static boolean isTruncatedSequence(byte[] bytes, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!isContinuation(bytes[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isTruncatedSequence(ByteBuffer bytes, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!isContinuation(bytes.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,84 @@
+package artbash;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@code jdk.incubator.vector} 모듈을 사용하는 아트배쉬 변환 엔진입니다.
+ * 각 레인에서 범위 비교로 마스크를 만들고 "상수 - 문자"를 마스크된 레인에만 적용합니다.
+ * 이 클래스는 모듈이 있을 때만 로드되어야 하므로 {@link AtbashCipher}를 통해서만 호출됩니다.
+ */
+final class AtbashVectorEngine {
+
+    private static final VectorSpecies<Short> CHAR_SPECIES = ShortVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Byte> BYTE_SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    // short 레인은 부호가 있으므로 한글 음절(U+AC00 ~ U+D7A3)은 음수 구간으로 비교됨
+    private static final short HANGUL_FIRST = (short) '가';
+    private static final short HANGUL_LAST = (short) '힣';
+    private static final short HANGUL_SUM = (short) ('가' + '힣');
+    private static final short LOWER_SUM = (short) ('a' + 'z');
+    private static final short UPPER_SUM = (short) ('A' + 'Z');
+
+    private AtbashVectorEngine() {
+    }
+
+    /**
+     * UTF-16 코드 유닛 배열의 구간을 제자리에서 변환합니다.
+     */
+    static void transformInPlace(char[] chars, int offset, int length) {
+        int i = offset;
+        int upper = offset + CHAR_SPECIES.loopBound(length);
+        for (; i < upper; i += CHAR_SPECIES.length()) {
+            ShortVector v = ShortVector.fromCharArray(CHAR_SPECIES, chars, i);
+            VectorMask<Short> lower = v.compare(VectorOperators.GE, (short) 'a')
+                    .and(v.compare(VectorOperators.LE, (short) 'z'));
+            VectorMask<Short> capital = v.compare(VectorOperators.GE, (short) 'A')
+                    .and(v.compare(VectorOperators.LE, (short) 'Z'));
+            VectorMask<Short> hangul = v.compare(VectorOperators.GE, HANGUL_FIRST)
+                    .and(v.compare(VectorOperators.LE, HANGUL_LAST));
+            VectorMask<Short> any = lower.or(capital).or(hangul);
+            if (!any.anyTrue()) {
+                continue;
+            }
+            ShortVector sum = ShortVector.broadcast(CHAR_SPECIES, HANGUL_SUM)
+                    .blend(LOWER_SUM, lower)
+                    .blend(UPPER_SUM, capital);
+            v.blend(sum.sub(v), any).intoCharArray(chars, i);
+        }
+        AtbashCipher.transformScalar(chars, i, offset + length - i);
+    }
+
+    /**
+     * UTF-8 바이트 배열의 [from, to) 구간을 제자리에서 변환합니다.
+     * ASCII로만 이루어진 블록은 바이트 레인에서 한 번에 처리하고, 멀티바이트 문자가 섞인 블록은
+     * 스칼라 경로로 넘깁니다. 반환값의 의미는 {@link AtbashUtf8#transform(byte[], int, int, boolean)}과 같습니다.
+     */
+    static int transform(byte[] bytes, int from, int to, boolean endOfInput) {
+        int lanes = BYTE_SPECIES.length();
+        int i = from;
+        while (to - i >= lanes) {
+            ByteVector v = ByteVector.fromArray(BYTE_SPECIES, bytes, i);
+            if (v.compare(VectorOperators.LT, (byte) 0).anyTrue()) {
+                // 블록 끝에서 잘린 한글 음절은 다음 반복에서 그 선행 바이트부터 다시 처리됨
+                i = AtbashUtf8.transformScalar(bytes, i, i + lanes, false);
+                continue;
+            }
+            VectorMask<Byte> lower = v.compare(VectorOperators.GE, (byte) 'a')
+                    .and(v.compare(VectorOperators.LE, (byte) 'z'));
+            VectorMask<Byte> capital = v.compare(VectorOperators.GE, (byte) 'A')
+                    .and(v.compare(VectorOperators.LE, (byte) 'Z'));
+            VectorMask<Byte> any = lower.or(capital);
+            if (any.anyTrue()) {
+                ByteVector sum = ByteVector.broadcast(BYTE_SPECIES, (byte) ('A' + 'Z'))
+                        .blend((byte) ('a' + 'z'), lower);
+                v.blend(sum.sub(v), any).intoArray(bytes, i);
+            }
+            i += lanes;
+        }
+        return AtbashUtf8.transformScalar(bytes, i, to, endOfInput);
+    }
+}
@@ -0,0 +1,364 @@
+package artbash;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 받은 편지함 폴더를 감시하다가 들어온 파일을 변환하여 보낸 편지함 폴더에 내놓는 데몬입니다.
+ * <pre>
+ * java -cp artbash.jar artbash.AtbashWatcher /data/atbash
+ *   /data/atbash/inbox       여기에 파일을 넣으면
+ *   /data/atbash/processing  처리 중인 파일이 잠시 머물고
+ *   /data/atbash/outbox      변환된 파일이 같은 이름으로 나타나며
+ *   /data/atbash/failed      읽거나 쓸 수 없었던 파일은 여기로 옮겨집니다.
+ * </pre>
+ * 파일은 읽기 → 변환 → 쓰기 단계를 크기가 정해진 큐로 이어 붙인 파이프라인을 지나므로,
+ * 한꺼번에 수천 개가 들어와도 메모리에 올라가는 파일 수는 큐 크기로 제한되고 나머지는 받은 편지함에서 기다립니다.
+ * <p>
+ * 파일은 이름 바꾸기(원자적 이동)로만 폴더 사이를 옮기므로 도중에 프로세스가 죽어도 잃어버리지 않습니다.
+ * <ol>
+ *   <li>받은 편지함 → 처리 중: 가져간 파일은 다시 감지되지 않음</li>
+ *   <li>결과를 보낸 편지함의 임시 파일({@code .atbash-이름.tmp})에 쓰고 디스크에 반영</li>
+ *   <li>처리 중인 파일을 {@code 이름.atbash-done}으로 바꿈 — 완료 확정</li>
+ *   <li>임시 파일을 최종 이름으로 바꿔 공개한 뒤 완료 표시 파일을 지움</li>
+ * </ol>
+ * 다시 시작할 때 완료가 확정된 파일은 공개만 마무리하고, 확정되지 않은 파일만 다시 변환하므로
+ * 끝난 파일을 두 번 처리하지 않습니다.
+ * 올리는 쪽은 {@code .}으로 시작하는 이름으로 파일을 다 쓴 뒤 이름을 바꿔 넣어야 하며, 점으로 시작하는 파일은 무시합니다.
+ */
+public final class AtbashWatcher implements Closeable {
+
+    /** 이 크기보다 작은 파일은 바이트 배열로 파이프라인을 지나고, 큰 파일은 쓰기 단계에서 파일끼리 직접 변환 */
+    private static final long MAP_THRESHOLD = 1024 * 1024;
+
+    /** 단계 사이 큐의 기본 크기. 메모리에 올라가는 파일은 대략 (큐 수 × 크기) × MAP_THRESHOLD 이하 */
+    private static final int DEFAULT_QUEUE_CAPACITY = 32;
+
+    private static final String TEMP_PREFIX = ".atbash-";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String DONE_SUFFIX = ".atbash-done";
+
+    private final Path inbox;
+    private final Path processing;
+    private final Path outbox;
+    private final Path failed;
+    private final BlockingQueue<Job> readQueue;
+    private final BlockingQueue<Job> transformQueue;
+    private final BlockingQueue<Job> writeQueue;
+    private final List<Thread> threads = new ArrayList<>();
+    private final AtomicLong publishedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    // 처리 중 폴더에 같은 이름이 있어 받은 편지함에 남겨 둔 파일이 있으면, 다음 완료 후 다시 훑어봄
+    private final AtomicBoolean rescan = new AtomicBoolean();
+    private WatchService watchService;
+    private volatile boolean running;
+
+    /**
+     * @param root          inbox, processing, outbox, failed 폴더를 둘 디렉터리 (없으면 만듦)
+     * @param queueCapacity 단계 사이 큐의 크기
+     * @throws IOException 폴더를 만들 수 없는 경우
+     */
+    public AtbashWatcher(Path root, int queueCapacity) throws IOException {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("queueCapacity must be positive");
+        }
+        this.inbox = Files.createDirectories(root.resolve("inbox"));
+        this.processing = Files.createDirectories(root.resolve("processing"));
+        this.outbox = Files.createDirectories(root.resolve("outbox"));
+        this.failed = Files.createDirectories(root.resolve("failed"));
+        this.readQueue = new ArrayBlockingQueue<>(queueCapacity);
+        this.transformQueue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writeQueue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * 지난 실행에서 끝나지 않은 파일을 정리한 뒤 감시와 파이프라인 스레드를 시작합니다.
+     *
+     * @throws IOException 복구 중 파일을 옮기지 못했거나 감시를 시작할 수 없는 경우
+     */
+    public void start() throws IOException {
+        List<Path> unfinished = recover();
+        watchService = inbox.getFileSystem().newWatchService();
+        // 먼저 등록한 뒤 훑어봐야 그 사이에 들어온 파일을 놓치지 않음
+        inbox.register(watchService, StandardWatchEventKinds.ENTRY_CREATE);
+        running = true;
+
+        startThread("artbash-watch", () -> watch(unfinished));
+        startThread("artbash-read", () -> runStage(readQueue, transformQueue, this::read));
+        int transformers = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        for (int i = 0; i < transformers; i++) {
+            startThread("artbash-transform-" + i, () -> runStage(transformQueue, writeQueue, this::transform));
+        }
+        startThread("artbash-write", () -> runStage(writeQueue, null, this::write));
+    }
+
+    /**
+     * 감시와 파이프라인을 멈춥니다. 처리 중이던 파일은 processing 폴더에 남아 다음 실행에서 이어서 처리됩니다.
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        if (watchService != null) {
+            watchService.close();
+        }
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+
+    public long getPublishedCount() {
+        return publishedCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    private void startThread(String name, Runnable task) {
+        Thread thread = new Thread(task, name);
+        threads.add(thread);
+        thread.start();
+    }
+
+    /**
+     * 지난 실행이 남긴 상태를 정리합니다.
+     *
+     * @return 다시 변환해야 하는 processing 폴더의 파일
+     */
+    private List<Path> recover() throws IOException {
+        List<Path> unfinished = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(processing)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(DONE_SUFFIX)) {
+                    // 완료가 확정된 파일: 공개 전에 멈췄다면 공개만 마무리
+                    String original = name.substring(0, name.length() - DONE_SUFFIX.length());
+                    Path temp = outbox.resolve(TEMP_PREFIX + original + TEMP_SUFFIX);
+                    if (Files.exists(temp)) {
+                        Files.move(temp, outbox.resolve(original), StandardCopyOption.ATOMIC_MOVE);
+                    }
+                    Files.delete(file);
+                    publishedCount.incrementAndGet();
+                } else {
+                    unfinished.add(file);
+                }
+            }
+        }
+        // 남은 임시 파일은 확정되지 않은 결과이므로 버리고 다시 만듦
+        try (DirectoryStream<Path> temps = Files.newDirectoryStream(outbox, TEMP_PREFIX + "*" + TEMP_SUFFIX)) {
+            for (Path temp : temps) {
+                Files.delete(temp);
+            }
+        }
+        return unfinished;
+    }
+
+    private void watch(List<Path> unfinished) {
+        try {
+            for (Path file : unfinished) {
+                readQueue.put(new Job(file));
+            }
+            scanInbox();
+            while (running) {
+                WatchKey key = watchService.poll(1, TimeUnit.SECONDS);
+                if (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            // 이벤트가 넘쳐 일부를 놓쳤으므로 폴더 전체를 다시 훑어봄
+                            scanInbox();
+                        } else {
+                            claim(inbox.resolve((Path) event.context()));
+                        }
+                    }
+                    key.reset();
+                }
+                if (rescan.getAndSet(false)) {
+                    scanInbox();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // 종료 중
+        } catch (IOException e) {
+            System.err.println("Watcher stopped: cannot list " + inbox + ": " + e);
+        }
+    }
+
+    private void scanInbox() throws IOException, InterruptedException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(inbox)) {
+            for (Path file : files) {
+                claim(file);
+            }
+        }
+    }
+
+    /**
+     * 받은 편지함의 파일을 processing 폴더로 옮겨 가져가고 파이프라인에 넣습니다.
+     * 큐가 차 있으면 자리가 날 때까지 기다리므로, 그동안 새 파일은 받은 편지함에 그대로 쌓입니다.
+     */
+    private void claim(Path file) throws InterruptedException {
+        String name = file.getFileName().toString();
+        if (name.startsWith(".") || name.endsWith(DONE_SUFFIX) || !Files.isRegularFile(file)) {
+            return;
+        }
+        Path claimed = processing.resolve(name);
+        if (Files.exists(claimed) || Files.exists(processing.resolve(name + DONE_SUFFIX))) {
+            // 같은 이름의 파일이 아직 처리 중이면 덮어쓰지 않고 끝난 뒤 다시 가져감
+            rescan.set(true);
+            return;
+        }
+        try {
+            Files.move(file, claimed, StandardCopyOption.ATOMIC_MOVE);
+        } catch (NoSuchFileException e) {
+            // 이벤트와 폴더 훑기가 같은 파일을 보았고 이미 가져간 경우
+            return;
+        } catch (IOException e) {
+            System.err.println("Cannot claim " + file + ": " + e);
+            return;
+        }
+        readQueue.put(new Job(claimed));
+    }
+
+    private void runStage(BlockingQueue<Job> in, BlockingQueue<Job> out, Stage stage) {
+        try {
+            while (running) {
+                Job job = in.take();
+                try {
+                    stage.process(job);
+                } catch (IOException | RuntimeException e) {
+                    fail(job, e);
+                    continue;
+                }
+                if (out != null) {
+                    out.put(job);
+                }
+            }
+        } catch (InterruptedException e) {
+            // 종료 중: 큐에 남은 파일은 processing 폴더에 있으므로 다음 실행에서 처리됨
+        }
+    }
+
+    private void read(Job job) throws IOException {
+        if (Files.size(job.source) < MAP_THRESHOLD) {
+            job.bytes = Files.readAllBytes(job.source);
+        }
+    }
+
+    private void transform(Job job) {
+        if (job.bytes != null) {
+            AtbashUtf8.transform(job.bytes, 0, job.bytes.length, true);
+        }
+    }
+
+    private void write(Job job) throws IOException {
+        String name = job.source.getFileName().toString();
+        Path temp = outbox.resolve(TEMP_PREFIX + name + TEMP_SUFFIX);
+        if (job.bytes != null) {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(job.bytes);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            job.bytes = null;
+        } else {
+            AtbashFiles.transform(job.source, temp);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+        }
+        Path done = processing.resolve(name + DONE_SUFFIX);
+        Files.move(job.source, done, StandardCopyOption.ATOMIC_MOVE);
+        Files.move(temp, outbox.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+        Files.delete(done);
+        publishedCount.incrementAndGet();
+    }
+
+    private void fail(Job job, Exception cause) {
+        failedCount.incrementAndGet();
+        String name = job.source.getFileName().toString();
+        System.err.println("Failed: " + name + ": " + cause);
+        job.bytes = null;
+        try {
+            Files.deleteIfExists(outbox.resolve(TEMP_PREFIX + name + TEMP_SUFFIX));
+            Files.move(job.source, failed.resolve(name), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            // processing 폴더에 남으므로 다음 실행에서 다시 시도함
+            System.err.println("Cannot move " + name + " to " + failed + ": " + e);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path root = null;
+        int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+        for (int i = 0; i < args.length; i++) {
+            if ("--queue-capacity".equals(args[i]) && i + 1 < args.length) {
+                queueCapacity = Integer.parseInt(args[++i]);
+            } else if (root == null && !args[i].startsWith("-")) {
+                root = Paths.get(args[i]);
+            } else {
+                root = null;
+                break;
+            }
+        }
+        if (root == null) {
+            System.err.println("Usage: java -cp artbash.jar artbash.AtbashWatcher <directory> [--queue-capacity <n>]");
+            System.exit(2);
+        }
+        AtbashWatcher watcher = new AtbashWatcher(root, queueCapacity);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                watcher.close();
+            } catch (IOException e) {
+                // 종료 중
+            }
+            System.out.printf("Published %d, failed %d%n", watcher.getPublishedCount(), watcher.getFailedCount());
+        }));
+        watcher.start();
+        System.out.println("Watching " + watcher.inbox.toAbsolutePath() + " -> " + watcher.outbox.toAbsolutePath());
+    }
+
+    private interface Stage {
+        void process(Job job) throws IOException;
+    }
+
+    private static final class Job {
+        final Path source;
+        // 작은 파일의 내용. 큰 파일은 null이며 쓰기 단계에서 파일끼리 직접 변환함
+        byte[] bytes;
+
+        Job(Path source) {
+            this.source = source;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package artbash;
+
+import java.awt.*;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import javax.swing.*;
+
+/**
+ * Shows a {@link LargeTextFile} by painting only the lines that are currently visible.
+ * The component tracks the size of its viewport and scrolls with its own scroll bar whose
+ * unit is a line, so the file size never turns into a huge preferred size or text layout.
+ * Two views that share a {@link BoundedRangeModel} scroll together.
+ */
+class LargeFileView extends JPanel implements Scrollable {
+    private static final long serialVersionUID = 1L;
+
+    private final transient LargeTextFile file;
+    private final boolean transformed;
+    private final JScrollBar scrollBar;
+    private final LinePainter canvas = new LinePainter();
+    private int horizontalOffset;
+
+    /**
+     * @param file        the file to show
+     * @param model       scroll model, shared with other views that should scroll together
+     * @param transformed whether to show the Atbash-transformed text instead of the file as-is
+     */
+    LargeFileView(LargeTextFile file, BoundedRangeModel model, boolean transformed) {
+        super(new BorderLayout());
+        this.file = file;
+        this.transformed = transformed;
+        setOpaque(false); // The rounded scroll pane paints the background
+
+        scrollBar = new JScrollBar(JScrollBar.VERTICAL);
+        scrollBar.setModel(model);
+        scrollBar.setUnitIncrement(1);
+        model.addChangeListener(e -> canvas.repaint());
+
+        canvas.setOpaque(false);
+        canvas.setBorder(BorderFactory.createEmptyBorder(8, 8, 8, 8)); // Same inner padding as the text areas
+        canvas.addMouseWheelListener(e -> {
+            if (e.isShiftDown()) {
+                horizontalOffset = Math.max(0, horizontalOffset + e.getWheelRotation() * 40);
+                canvas.repaint();
+            } else {
+                model.setValue(model.getValue() + e.getWheelRotation() * e.getScrollAmount());
+            }
+        });
+
+        add(canvas, BorderLayout.CENTER);
+        add(scrollBar, BorderLayout.EAST);
+    }
+
+    /**
+     * Called when more of the file has been indexed, so the scroll range can grow.
+     */
+    void lineCountChanged() {
+        BoundedRangeModel model = scrollBar.getModel();
+        int lines = file.getLineCount();
+        int visible = canvas.visibleLineCount();
+        model.setRangeProperties(model.getValue(), Math.min(visible, lines), 0, lines, false);
+        scrollBar.setBlockIncrement(Math.max(1, visible - 1));
+        canvas.lineCountChanged();
+        canvas.repaint();
+    }
+
+    /**
+     * Scrolls so that the given line is near the top, a couple of lines below the edge.
+     */
+    void scrollToLine(int line) {
+        scrollBar.getModel().setValue(Math.max(0, line - 2));
+    }
+
+    @Override
+    public void setFont(Font font) {
+        super.setFont(font);
+        if (canvas != null) {
+            canvas.setFont(font);
+        }
+    }
+
+    @Override
+    public void setForeground(Color color) {
+        super.setForeground(color);
+        if (canvas != null) {
+            canvas.setForeground(color);
+        }
+    }
+
+    @Override
+    public void doLayout() {
+        super.doLayout();
+        lineCountChanged();
+    }
+
+    @Override public Dimension getPreferredScrollableViewportSize() { return getPreferredSize(); }
+    @Override public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) { return 1; }
+    @Override public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) { return 1; }
+    @Override public boolean getScrollableTracksViewportWidth() { return true; }
+    @Override public boolean getScrollableTracksViewportHeight() { return true; }
+
+    /**
+     * Paints the visible window of lines from a small cache. Lines are never read on the EDT:
+     * when the cache does not cover the window, a background read fetches it (plus a window
+     * above and below so small scrolls hit the cache) and the painter repaints when it arrives.
+     * Until then, whatever cached lines overlap the window are drawn.
+     */
+    private final class LinePainter extends JComponent {
+        private static final long serialVersionUID = 1L;
+
+        // Only touched on the EDT
+        private transient List<String> cachedLines = Collections.emptyList();
+        private int cachedFirst;
+        private boolean cachedToEnd; // The read stopped before the requested count, i.e. at the end of the file
+        private boolean loading;
+
+        int visibleLineCount() {
+            Insets insets = getInsets();
+            int lineHeight = getFontMetrics(getFont()).getHeight();
+            return Math.max(1, (getHeight() - insets.top - insets.bottom) / Math.max(1, lineHeight));
+        }
+
+        /**
+         * Lines past the old end may exist now, so a cache that ran into the end has to be read again.
+         */
+        void lineCountChanged() {
+            if (cachedToEnd) {
+                cachedToEnd = false;
+                cachedLines = Collections.emptyList();
+            }
+        }
+
+        private boolean covers(int first, int count) {
+            return first >= cachedFirst
+                    && (cachedToEnd || first + count <= cachedFirst + cachedLines.size());
+        }
+
+        private void load(int first, int count) {
+            if (loading) {
+                return; // The repaint after the current read asks again if still needed
+            }
+            loading = true;
+            int from = Math.max(0, first - count);
+            int length = first - from + count * 2;
+            // Not started through the GUI's worker slot: this is a short read that must not make the UI busy
+            new SwingWorker<List<String>, Void>() {
+                @Override
+                protected List<String> doInBackground() throws IOException {
+                    return file.readLines(from, length, transformed);
+                }
+
+                @Override
+                protected void done() {
+                    loading = false;
+                    try {
+                        cachedLines = get();
+                        cachedFirst = from;
+                        cachedToEnd = cachedLines.size() < length;
+                    } catch (InterruptedException | ExecutionException ex) {
+                        Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                        cachedLines = Collections.singletonList(cause.getMessage());
+                        cachedFirst = first;
+                        cachedToEnd = true;
+                    }
+                    repaint();
+                }
+            }.execute();
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Graphics2D g2 = (Graphics2D) g.create();
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2.setFont(getFont());
+            g2.setColor(getForeground());
+            Insets insets = getInsets();
+            g2.clipRect(insets.left, insets.top, getWidth() - insets.left - insets.right,
+                    getHeight() - insets.top - insets.bottom);
+
+            FontMetrics metrics = g2.getFontMetrics();
+            int first = scrollBar.getValue();
+            int count = visibleLineCount() + 1;
+            if (!covers(first, count)) {
+                load(first, count);
+            }
+            int y = insets.top + metrics.getAscent();
+            for (int line = first; line < first + count; line++) {
+                int index = line - cachedFirst;
+                if (index >= 0 && index < cachedLines.size()) {
+                    g2.drawString(cachedLines.get(index), insets.left - horizontalOffset, y);
+                }
+                y += metrics.getHeight();
+            }
+            g2.dispose();
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package artbash;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * 화면에 보이는 줄만 디스크에서 읽어 오는 큰 UTF-8 텍스트 파일입니다.
+ * 파일 전체를 힙에 올리지 않고, 일정 줄 간격마다 시작 위치만 기록한 희소 색인으로
+ * 임의의 줄을 찾아갑니다. 색인은 {@link #buildIndex(LongConsumer)}로 백그라운드에서 만듭니다.
+ * <p>
+ * 표시 한도({@value #MAX_LINE_BYTES}바이트)보다 긴 줄 다음 줄의 시작 위치도 색인에 기록하므로,
+ * 긴 줄은 앞부분만 읽고 나머지는 건너뜁니다. 줄 번호는 int이므로 {@link Integer#MAX_VALUE}번째 줄까지만 보여 줍니다.
+ */
+final class LargeTextFile implements Closeable {
+
+    /** 색인에 시작 위치를 기록하는 줄 간격 */
+    private static final int INDEX_INTERVAL = 1024;
+
+    /** 한 줄에서 화면에 표시하는 최대 바이트 수 (아주 긴 줄은 잘라서 표시) */
+    private static final int MAX_LINE_BYTES = 16 * 1024;
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int INDEX_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final long size;
+
+    /** 보여 줄 수 있는 최대 줄 수 */
+    private static final int MAX_LINES = Integer.MAX_VALUE;
+
+    // checkpointOffsets[i]는 checkpointLines[i]번째 줄의 시작 위치. INDEX_INTERVAL 배수 줄과 긴 줄 다음 줄을 기록하며
+    // 두 배열 모두 오름차순
+    private int[] checkpointLines = new int[1024];
+    private long[] checkpointOffsets = new long[1024];
+    private int checkpointCount = 1;
+    private volatile int lineCount;
+    private volatile boolean indexed;
+    private volatile boolean closed;
+
+    // 마지막으로 찾은 줄 위치 (순서대로 스크롤할 때 색인 지점부터 다시 읽지 않도록)
+    private int cachedLine = -1;
+    private long cachedOffset;
+
+    LargeTextFile(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.lineCount = size > 0 ? 1 : 0;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    long size() {
+        return size;
+    }
+
+    /**
+     * 지금까지 색인된 줄 수입니다. 색인이 끝나기 전에는 계속 늘어납니다.
+     */
+    int getLineCount() {
+        return lineCount;
+    }
+
+    boolean isIndexed() {
+        return indexed;
+    }
+
+    /**
+     * 파일을 끝까지 읽으며 줄 색인을 만듭니다. 호출한 스레드에서 실행되므로 백그라운드 스레드에서 호출해야 합니다.
+     *
+     * @param onProgress 색인 창 하나를 처리할 때마다 지금까지 처리한 바이트 수와 함께 호출됨
+     */
+    void buildIndex(LongConsumer onProgress) throws IOException {
+        long lines = 0;
+        long lineStart = 0;
+        long position = 0;
+        while (position < size && !closed && lines < MAX_LINES) {
+            int window = (int) Math.min(INDEX_WINDOW_SIZE, size - position);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, window);
+            for (int i = 0; i < window && lines < MAX_LINES; i++) {
+                if (buffer.get(i) == '\n') {
+                    lines++;
+                    long next = position + i + 1;
+                    if (lines % INDEX_INTERVAL == 0 || next - 1 - lineStart > MAX_LINE_BYTES) {
+                        addCheckpoint((int) lines, next);
+                    }
+                    lineStart = next;
+                }
+            }
+            position += window;
+            // 마지막 줄이 줄바꿈으로 끝나지 않으면 한 줄로 셈
+            long counted = lines + (position < size || endsWithoutNewline() ? 1 : 0);
+            lineCount = (int) Math.min(counted, MAX_LINES);
+            onProgress.accept(position);
+        }
+        indexed = !closed;
+    }
+
+    private boolean endsWithoutNewline() throws IOException {
+        ByteBuffer last = ByteBuffer.allocate(1);
+        channel.read(last, size - 1);
+        return last.get(0) != '\n';
+    }
+
+    private synchronized void addCheckpoint(int line, long offset) {
+        if (checkpointCount == checkpointLines.length) {
+            checkpointLines = Arrays.copyOf(checkpointLines, checkpointCount * 2);
+            checkpointOffsets = Arrays.copyOf(checkpointOffsets, checkpointCount * 2);
+        }
+        checkpointLines[checkpointCount] = line;
+        checkpointOffsets[checkpointCount] = offset;
+        checkpointCount++;
+    }
+
+    /**
+     * 표시 한도보다 긴 줄 다음 줄의 시작 위치. 색인이 아직 거기까지 오지 않았으면 -1.
+     */
+    private long lineAfterLongLine(int line) {
+        int checkpoint = Arrays.binarySearch(checkpointLines, 0, checkpointCount, line + 1);
+        return checkpoint >= 0 ? checkpointOffsets[checkpoint] : -1;
+    }
+
+    /**
+     * 지정한 줄부터 최대 {@code count}개의 줄을 읽습니다.
+     *
+     * @param firstLine   읽기 시작할 줄 번호 (0부터)
+     * @param count       읽을 줄 수
+     * @param transformed true면 아트배쉬 변환을 적용한 내용을 반환
+     * @return 읽은 줄 목록 (줄바꿈 문자 제외)
+     */
+    synchronized List<String> readLines(int firstLine, int count, boolean transformed) throws IOException {
+        List<String> lines = new ArrayList<>(count);
+        if (firstLine < 0 || firstLine >= lineCount) {
+            return lines;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        byte[] line = new byte[MAX_LINE_BYTES];
+        long bufferStart = findLine(firstLine);
+        int limit = 0;
+        int position = 0;
+        boolean lastLine = false;
+        while (lines.size() < count && !lastLine) {
+            int length = 0;
+            boolean truncated = false;
+            boolean readAny = false;
+            boolean endOfLine = false;
+            while (!endOfLine) {
+                if (position == limit) {
+                    bufferStart += limit;
+                    buffer.clear();
+                    int read = bufferStart < size ? channel.read(buffer, bufferStart) : -1;
+                    if (read <= 0) {
+                        limit = 0;
+                        position = 0;
+                        break;
+                    }
+                    limit = read;
+                    position = 0;
+                }
+                byte b = buffer.get(position++);
+                readAny = true;
+                if (b == '\n') {
+                    endOfLine = true;
+                } else if (length < MAX_LINE_BYTES) {
+                    line[length++] = b;
+                } else {
+                    // 표시 한도를 넘은 나머지는 읽지 않고 색인에 기록된 다음 줄로 건너뜀
+                    truncated = true;
+                    endOfLine = true;
+                    long next = lineAfterLongLine(firstLine + lines.size());
+                    if (next < 0) {
+                        // 아직 색인 중인 마지막 줄
+                        lastLine = true;
+                    } else {
+                        bufferStart = next;
+                        limit = 0;
+                        position = 0;
+                    }
+                }
+            }
+            if (!readAny) {
+                break;
+            }
+            lines.add(decode(line, length, truncated, transformed));
+            if (!lastLine) {
+                cachedLine = firstLine + lines.size();
+                cachedOffset = bufferStart + position;
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * 줄의 시작 위치를 찾습니다. 가장 가까운 색인 지점(또는 직전에 찾은 위치)부터 줄바꿈을 세며 나아갑니다.
+     * 색인 지점 사이의 줄은 모두 표시 한도보다 짧으므로 세는 구간은 색인 간격 × 표시 한도를 넘지 않습니다.
+     */
+    private long findLine(int line) throws IOException {
+        int checkpoint = Arrays.binarySearch(checkpointLines, 0, checkpointCount, line);
+        if (checkpoint < 0) {
+            checkpoint = -checkpoint - 2;
+        }
+        int current = checkpointLines[checkpoint];
+        long offset = checkpointOffsets[checkpoint];
+        if (cachedLine >= current && cachedLine <= line) {
+            current = cachedLine;
+            offset = cachedOffset;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        while (current < line && offset < size) {
+            buffer.clear();
+            int read = channel.read(buffer, offset);
+            if (read <= 0) {
+                break;
+            }
+            int i = 0;
+            while (i < read && current < line) {
+                if (buffer.get(i++) == '\n') {
+                    current++;
+                }
+            }
+            offset += i;
+        }
+        return offset;
+    }
+
+    /**
+     * 바이트 위치가 들어 있는 줄 번호를 찾습니다. 그 위치 앞의 가장 가까운 색인 지점부터 줄바꿈을 셉니다.
+     */
+    synchronized int lineOf(long offset) throws IOException {
+        int checkpoint = Arrays.binarySearch(checkpointOffsets, 0, checkpointCount, offset);
+        if (checkpoint < 0) {
+            checkpoint = -checkpoint - 2;
+        }
+        int line = checkpointLines[checkpoint];
+        long position = checkpointOffsets[checkpoint];
+        long end = Math.min(offset, size);
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        while (position < end) {
+            buffer.clear();
+            buffer.limit((int) Math.min(READ_BUFFER_SIZE, end - position));
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    line++;
+                }
+            }
+            position += read;
+        }
+        return line;
+    }
+
+    private static String decode(byte[] bytes, int length, boolean truncated, boolean transformed) {
+        if (truncated) {
+            // 잘린 위치가 멀티바이트 문자 가운데면 그 문자는 버림
+            int lead = length - 1;
+            while (lead > 0 && (bytes[lead] & 0xC0) == 0x80) {
+                lead--;
+            }
+            int b = bytes[lead] & 0xFF;
+            int expected = b < 0xC0 ? 1 : (b < 0xE0 ? 2 : (b < 0xF0 ? 3 : 4));
+            if (lead + expected > length) {
+                length = lead;
+            }
+        }
+        if (length > 0 && bytes[length - 1] == '\r') {
+            length--;
+        }
+        // 변환된 줄은 아트배쉬 문자셋으로 디코딩과 변환을 한 번에 처리
+        // 잘못된 UTF-8 시퀀스는 대체 문자(U+FFFD)로 표시
+        String text = new String(bytes, 0, length, transformed ? AtbashCharset.INSTANCE : StandardCharsets.UTF_8);
+        return truncated ? text + " \u2026" : text;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        channel.close();
+    }
+}
@@ -0,0 +1,253 @@
+package artbash;
+
+import java.awt.GraphicsEnvironment;
+import java.awt.Toolkit;
+import java.awt.datatransfer.Clipboard;
+import java.awt.datatransfer.ClipboardOwner;
+import java.awt.datatransfer.DataFlavor;
+import java.awt.datatransfer.Transferable;
+import java.awt.datatransfer.UnsupportedFlavorException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Segment;
+
+/**
+ * Clipboard contents that are only produced when someone pastes.
+ * Unlike {@link java.awt.datatransfer.StringSelection}, copying does not take a copy of the text:
+ * the selection reads from a live document, or transforms a file on demand, and offers the
+ * text both as a {@code String} and as a streaming {@link Reader}.
+ * <p>
+ * How lazy this is depends on the platform. The X11 clipboard asks for the data only when another
+ * application pastes. The Windows and macOS clipboards convert every flavor in
+ * {@code Clipboard.setContents}, on the calling thread, so there the text is produced at copy time.
+ * {@link #PASTE_IS_LAZY} tells which case applies, so that callers can cap what a file selection
+ * offers with {@link #ofTransformedFile(Path, long)}.
+ */
+final class LazyTextSelection implements Transferable, ClipboardOwner {
+
+    /** Plain text delivered as a {@link Reader}, read chunk by chunk. */
+    static final DataFlavor READER_FLAVOR = createReaderFlavor();
+
+    /** Whether the system clipboard asks for the data only when pasting (X11), rather than at copy time. */
+    static final boolean PASTE_IS_LAZY = isLazyClipboard();
+
+    /** Most file bytes offered as a single {@code String}, whatever limit the selection was given. */
+    static final long MAX_STRING_BYTES = 512L * 1024 * 1024;
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private static boolean isLazyClipboard() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return false;
+        }
+        return "sun.awt.X11.XToolkit".equals(Toolkit.getDefaultToolkit().getClass().getName());
+    }
+
+    private static DataFlavor createReaderFlavor() {
+        try {
+            return new DataFlavor("text/plain; charset=unicode; class=java.io.Reader");
+        } catch (ClassNotFoundException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private volatile Source source;
+
+    private LazyTextSelection(Source source) {
+        this.source = source;
+    }
+
+    /**
+     * Offers the current contents of a document. Call {@link #detach()} before the document is
+     * modified, so that what was copied stays what is pasted.
+     */
+    static LazyTextSelection of(Document document) {
+        return new LazyTextSelection(new DocumentSource(document));
+    }
+
+    /**
+     * Offers the Atbash transform of the first {@code maxBytes} bytes of a UTF-8 file (all of it if
+     * the file is no larger), decoded and transformed while it is read. The {@code String} flavor
+     * is further capped at {@link #MAX_STRING_BYTES}.
+     */
+    static LazyTextSelection ofTransformedFile(Path file, long maxBytes) {
+        return new LazyTextSelection(new FileSource(file, maxBytes));
+    }
+
+    /**
+     * Takes a snapshot of the document, if this selection reads from one that is about to change.
+     * Readers that are already open continue from the snapshot.
+     */
+    void detach() {
+        Source current = source;
+        if (current instanceof DocumentSource) {
+            ((DocumentSource) current).detach();
+        }
+    }
+
+    @Override
+    public DataFlavor[] getTransferDataFlavors() {
+        return new DataFlavor[]{DataFlavor.stringFlavor, READER_FLAVOR};
+    }
+
+    @Override
+    public boolean isDataFlavorSupported(DataFlavor flavor) {
+        return DataFlavor.stringFlavor.equals(flavor) || READER_FLAVOR.equals(flavor);
+    }
+
+    @Override
+    public Object getTransferData(DataFlavor flavor) throws UnsupportedFlavorException, IOException {
+        if (DataFlavor.stringFlavor.equals(flavor)) {
+            return source.text();
+        } else if (READER_FLAVOR.equals(flavor)) {
+            return source.open();
+        }
+        throw new UnsupportedFlavorException(flavor);
+    }
+
+    @Override
+    public void lostOwnership(Clipboard clipboard, Transferable contents) {
+        // Nobody can paste this any more; let go of the document or snapshot
+        source = EMPTY;
+    }
+
+    private interface Source {
+        Reader open() throws IOException;
+
+        String text() throws IOException;
+    }
+
+    private static final Source EMPTY = new Source() {
+        @Override
+        public Reader open() {
+            return Reader.nullReader();
+        }
+
+        @Override
+        public String text() {
+            return "";
+        }
+    };
+
+    /**
+     * Reads a document in chunks under its read lock until {@link #detach()} swaps in a snapshot.
+     */
+    private static final class DocumentSource implements Source {
+        private final Document document;
+        private volatile String snapshot;
+
+        DocumentSource(Document document) {
+            this.document = document;
+        }
+
+        void detach() {
+            if (snapshot == null) {
+                snapshot = text();
+            }
+        }
+
+        @Override
+        public String text() {
+            String text = snapshot;
+            if (text != null) {
+                return text;
+            }
+            String[] copy = new String[1];
+            document.render(() -> {
+                try {
+                    copy[0] = document.getText(0, document.getLength());
+                } catch (BadLocationException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            return copy[0];
+        }
+
+        @Override
+        public Reader open() {
+            return new Reader() {
+                private int position;
+
+                @Override
+                public int read(char[] buffer, int offset, int length) {
+                    if (length == 0) {
+                        return 0;
+                    }
+                    int read = copy(position, buffer, offset, Math.min(length, CHUNK_SIZE));
+                    if (read == 0) {
+                        return -1;
+                    }
+                    position += read;
+                    return read;
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+
+        /**
+         * Copies up to {@code length} characters starting at {@code from} into the buffer.
+         *
+         * @return the number of characters copied, 0 at the end of the text
+         */
+        private int copy(int from, char[] buffer, int offset, int length) {
+            String text = snapshot;
+            if (text != null) {
+                int count = Math.max(0, Math.min(length, text.length() - from));
+                if (count > 0) {
+                    text.getChars(from, from + count, buffer, offset);
+                }
+                return count;
+            }
+            int[] count = new int[1];
+            document.render(() -> {
+                count[0] = Math.max(0, Math.min(length, document.getLength() - from));
+                if (count[0] == 0) {
+                    return;
+                }
+                Segment segment = new Segment();
+                try {
+                    // The segment may point into the document's own storage, so copy while locked
+                    document.getText(from, count[0], segment);
+                } catch (BadLocationException e) {
+                    throw new IllegalStateException(e);
+                }
+                System.arraycopy(segment.array, segment.offset, buffer, offset, count[0]);
+            });
+            return count[0];
+        }
+    }
+
+    private static final class FileSource implements Source {
+        private final Path file;
+        private final long maxBytes;
+
+        FileSource(Path file, long maxBytes) {
+            this.file = file;
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public Reader open() throws IOException {
+            if (Files.size(file) > maxBytes) {
+                return new StringReader(text());
+            }
+            // Malformed input is replaced, as when the file is shown in the viewer
+            return new InputStreamReader(Files.newInputStream(file), AtbashCharset.INSTANCE);
+        }
+
+        @Override
+        public String text() throws IOException {
+            // Only the leading range is read; the end moves forward to a character boundary
+            return AtbashFiles.transformRange(file, 0, Math.min(maxBytes, MAX_STRING_BYTES));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package artbash;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 작업마다 가상 스레드를 하나씩 쓰는 실행기를 만듭니다.
+ * 빌드 대상은 JDK 17이므로 JDK 21 이상에서 실행될 때만 리플렉션으로 가상 스레드 실행기를 얻고,
+ * 그보다 낮은 JDK에서는 같은 방식(작업당 스레드)으로 동작하는 데몬 플랫폼 스레드 실행기를 사용합니다.
+ * 동시에 처리할 작업 수는 호출하는 쪽에서 제한해야 합니다.
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * @param name 플랫폼 스레드로 대체될 때 사용할 스레드 이름 접두사
+     * @return 작업마다 새 스레드에서 실행하는 실행기
+     */
+    static ExecutorService newTaskExecutor(String name) {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger counter = new AtomicInteger();
+            ThreadFactory threads = runnable -> {
+                Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+            return Executors.newCachedThreadPool(threads);
+        }
+    }
+
+    /**
+     * @return 현재 JDK에서 가상 스레드를 사용할 수 있으면 true
+     */
+    static boolean isSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package artbash;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 짧은 필드를 반복 변환할 때의 할당량을 비교합니다.
+ * 호출자가 준 저장소를 쓰는 오버로드는 {@code gc.alloc.rate.norm}이 0 B/op 근처여야 합니다.
+ * 0 B/op인지는 {@link AllocationCheck}가 빌드에서 자동으로 확인합니다.
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar AllocationBenchmark -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+public class AllocationBenchmark {
+
+    @Param({"16", "256"})
+    public int size;
+
+    @Param({"MIXED"})
+    public TextSamples.Mix mix;
+
+    private String text;
+    private char[] src;
+    private char[] dst;
+    private CharBuffer heapSrc;
+    private CharBuffer heapDst;
+    private CharBuffer directSrc;
+    private CharBuffer directDst;
+    private StringBuilder builder;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        text = TextSamples.text(mix, size);
+        src = text.toCharArray();
+        dst = new char[src.length];
+        heapSrc = CharBuffer.wrap(src);
+        heapDst = CharBuffer.allocate(src.length);
+        directSrc = ByteBuffer.allocateDirect(src.length * 2).asCharBuffer().put(src);
+        directDst = ByteBuffer.allocateDirect(src.length * 2).asCharBuffer();
+        builder = new StringBuilder(src.length);
+    }
+
+    /** 비교 기준: 결과 문자열을 새로 만드는 기존 API */
+    @Benchmark
+    public String string() {
+        return AtbashCipher.transform(text);
+    }
+
+    @Benchmark
+    public char[] arrayToArray() {
+        AtbashCipher.transform(src, 0, dst, 0, src.length);
+        return dst;
+    }
+
+    @Benchmark
+    public char[] inPlace() {
+        AtbashCipher.transformInPlace(src);
+        return src;
+    }
+
+    @Benchmark
+    public CharBuffer heapBuffer() {
+        heapSrc.clear();
+        heapDst.clear();
+        AtbashCipher.transform(heapSrc, heapDst);
+        return heapDst;
+    }
+
+    @Benchmark
+    public CharBuffer directBuffer() {
+        directSrc.clear();
+        directDst.clear();
+        AtbashCipher.transform(directSrc, directDst);
+        return directDst;
+    }
+
+    @Benchmark
+    public StringBuilder appendable() throws IOException {
+        builder.setLength(0);
+        AtbashCipher.transform(text, builder);
+        return builder;
+    }
+}
@@ -0,0 +1,128 @@
+package artbash;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 호출자가 준 저장소를 쓰는 변환 오버로드가 정말 아무것도 할당하지 않는지 확인합니다.
+ * 각 경로를 JIT 컴파일될 만큼 충분히 돌린 뒤, 같은 스레드의 할당 바이트 수
+ * ({@link com.sun.management.ThreadMXBean#getCurrentThreadAllocatedBytes()})를 호출 전후로 비교합니다.
+ * 호출당 할당량이 0이 아니면 종료 코드 1로 끝납니다. {@link AllocationBenchmark}와 같은 경로를 검사합니다.
+ * <pre>
+ * java --add-modules jdk.incubator.vector -cp benchmarks/target/benchmarks.jar artbash.AllocationCheck
+ * </pre>
+ */
+public final class AllocationCheck {
+
+    private static final int WARMUP_CALLS = 200_000;
+    private static final int MEASURED_CALLS = 100_000;
+
+    /** 측정 도구 자체의 잡음으로 허용하는 전체 바이트 수 (호출당 0.01바이트 미만) */
+    private static final long NOISE_BYTES = MEASURED_CALLS / 100;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /** 결과가 쓰이는 것처럼 보이게 하여 JIT가 호출을 없애지 못하게 함 */
+    private static int sink;
+
+    private AllocationCheck() {
+    }
+
+    private interface Call {
+        void run() throws IOException;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (!THREADS.isThreadAllocatedMemorySupported()) {
+            System.out.println("Allocation check skipped: thread allocation counting is not supported by this JVM");
+            return;
+        }
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+        System.out.printf("Allocation check: %,d calls per path, vector engine %s%n",
+                MEASURED_CALLS, AtbashCipher.VECTORIZED ? "on" : "off");
+
+        int failures = 0;
+        for (int size : new int[]{16, 256, 4096}) {
+            for (Map.Entry<String, Call> entry : calls(size).entrySet()) {
+                long bytes = allocatedBytes(entry.getValue());
+                boolean failed = bytes > NOISE_BYTES;
+                if (failed) {
+                    failures++;
+                }
+                System.out.printf("%-14s %5d chars %8.3f B/call%s%n", entry.getKey(), size,
+                        (double) bytes / MEASURED_CALLS, failed ? "  ALLOCATES" : "");
+            }
+        }
+        if (failures > 0) {
+            System.out.println(failures + " path(s) allocate");
+            System.exit(1);
+        }
+        System.out.println("No allocations");
+    }
+
+    private static Map<String, Call> calls(int size) {
+        char[] src = TextSamples.text(TextSamples.Mix.MIXED, size).toCharArray();
+        char[] dst = new char[src.length];
+        String text = new String(src);
+        CharBuffer heapSrc = CharBuffer.wrap(src);
+        CharBuffer heapDst = CharBuffer.allocate(src.length);
+        CharBuffer directSrc = ByteBuffer.allocateDirect(src.length * 2).asCharBuffer().put(src);
+        CharBuffer directDst = ByteBuffer.allocateDirect(src.length * 2).asCharBuffer();
+        StringBuilder builder = new StringBuilder(src.length);
+
+        Map<String, Call> calls = new LinkedHashMap<>();
+        calls.put("arrayToArray", () -> {
+            AtbashCipher.transform(src, 0, dst, 0, src.length);
+            sink += dst[0];
+        });
+        calls.put("inPlace", () -> {
+            AtbashCipher.transformInPlace(src, 0, src.length);
+            sink += src[0];
+        });
+        calls.put("heapBuffer", () -> {
+            heapSrc.clear();
+            heapDst.clear();
+            AtbashCipher.transform(heapSrc, heapDst);
+            sink += heapDst.get(0);
+        });
+        calls.put("directBuffer", () -> {
+            directSrc.clear();
+            directDst.clear();
+            AtbashCipher.transform(directSrc, directDst);
+            sink += directDst.get(0);
+        });
+        calls.put("appendable", () -> {
+            builder.setLength(0);
+            AtbashCipher.transform(text, builder);
+            sink += builder.charAt(0);
+        });
+        return calls;
+    }
+
+    /**
+     * 충분히 데운 뒤 {@link #MEASURED_CALLS}번 호출하는 동안 할당된 바이트 수.
+     * 빈 구간을 잰 값을 빼서 측정 자체의 할당을 없앰.
+     */
+    private static long allocatedBytes(Call call) throws IOException {
+        repeat(call, WARMUP_CALLS);
+        long overhead = measure(() -> { }, MEASURED_CALLS);
+        return Math.max(0, measure(call, MEASURED_CALLS) - overhead);
+    }
+
+    private static long measure(Call call, int calls) throws IOException {
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        repeat(call, calls);
+        return THREADS.getCurrentThreadAllocatedBytes() - before;
+    }
+
+    private static void repeat(Call call, int calls) throws IOException {
+        for (int i = 0; i < calls; i++) {
+            call.run();
+        }
+    }
+}
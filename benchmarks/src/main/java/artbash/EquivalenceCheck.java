@@ -0,0 +1,521 @@
+package artbash;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 모든 변환 경로가 {@link ReferenceAtbash}와 똑같은 결과를 내는지 확인합니다.
+ * <ul>
+ *   <li>모든 UTF-16 코드 유닛(0x0000 ~ 0xFFFF)과 서로게이트가 아닌 모든 BMP 문자의 UTF-8 인코딩을 빠짐없이 검사합니다.</li>
+ *   <li>경계 문자, 서로게이트 쌍, 짝이 없는 서로게이트, 잘못된 UTF-8 바이트를 섞은 무작위 입력으로 각 경로를 퍼징합니다.
+ *       배열 경로는 무작위 위치와 길이로 호출하여 구간 밖이 바뀌지 않았는지도 확인합니다.</li>
+ *   <li>파일, {@link AtbashFlow#chunks} 발행자, gzip과 zip 변환은 무작위 조각 크기와 항목 분할로 가끔 검사합니다.</li>
+ * </ul>
+ * 불일치가 있으면 경로 이름, 시드, 첫 불일치 위치를 출력하고 종료 코드 1로 끝납니다.
+ * 같은 시드로 다시 실행하면 같은 입력이 만들어집니다.
+ * <pre>
+ * java --add-modules jdk.incubator.vector -cp benchmarks/target/benchmarks.jar artbash.EquivalenceCheck
+ *     [-Datbash.check.iterations=20000] [-Datbash.check.seed=...]
+ * </pre>
+ */
+public final class EquivalenceCheck {
+
+    /** 범위 경계와 그 바로 바깥 문자 */
+    private static final char[] BOUNDARY_CHARS = {
+            '@', 'A', 'B', 'Y', 'Z', '[', '`', 'a', 'b', 'y', 'z', '{',
+            '\uABFF', '가', '각', '힢', '힣', '\uD7A4', 'ㄱ', 'ㆎ',
+            '\u0000', '\u007F', '\u0080', '\u07FF', '\u0800', '\uFFFD', '\uFFFF',
+            '\uD800', '\uDBFF', '\uDC00', '\uDFFF'
+    };
+
+    private static final int MAX_REPORTED_FAILURES = 20;
+
+    private final SplittableRandom random;
+    private final long seed;
+    private final List<String> failures = new ArrayList<>();
+    private long checks;
+
+    private EquivalenceCheck(long seed) {
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+    }
+
+    public static void main(String[] args) throws IOException {
+        long seed = Long.getLong("atbash.check.seed", System.nanoTime());
+        int iterations = Integer.getInteger("atbash.check.iterations", 5000);
+        EquivalenceCheck check = new EquivalenceCheck(seed);
+        System.out.printf("Equivalence check: seed %d, %d iterations, vector engine %s%n",
+                seed, iterations, AtbashCipher.VECTORIZED ? "on" : "off");
+
+        check.exhaustive();
+        for (int i = 0; i < iterations; i++) {
+            String text = check.randomText();
+            check.charPaths(i, text);
+            String wellFormed = removeUnpairedSurrogates(text);
+            check.bytePaths(i, wellFormed.getBytes(StandardCharsets.UTF_8), true);
+            check.charsetPaths(i, wellFormed);
+            check.bytePaths(i, check.randomBytes(), false);
+            if (i % 250 == 0) {
+                check.filePaths(i, check.randomBytes());
+            }
+        }
+
+        System.out.printf("%,d comparisons, %d failures%n", check.checks, check.failures.size());
+        if (!check.failures.isEmpty()) {
+            check.failures.forEach(System.out::println);
+            System.out.println("Re-run with -Datbash.check.seed=" + seed + " to reproduce");
+            System.exit(1);
+        }
+    }
+
+    /** 모든 코드 유닛과 모든 BMP 문자를 한 번씩 검사합니다. */
+    private void exhaustive() throws IOException {
+        StringBuilder all = new StringBuilder(0x10000);
+        for (int c = 0; c <= 0xFFFF; c++) {
+            all.append((char) c);
+        }
+        String text = all.toString();
+        charPaths(-1, text);
+        bytePaths(-1, removeUnpairedSurrogates(text).getBytes(StandardCharsets.UTF_8), true);
+        charsetPaths(-1, removeUnpairedSurrogates(text));
+        // 모든 바이트 값 뒤에 모든 바이트 값이 오는 쌍과, 한글 선행 바이트로 시작하는 모든 3바이트 조합
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (int a = 0; a < 256; a++) {
+            for (int b = 0; b < 256; b++) {
+                bytes.write(a);
+                bytes.write(b);
+            }
+        }
+        for (int a = 0xE0; a <= 0xEF; a++) {
+            for (int b = 0x70; b <= 0xC0; b++) {
+                for (int c = 0x70; c <= 0xC0; c++) {
+                    bytes.write(a);
+                    bytes.write(b);
+                    bytes.write(c);
+                }
+            }
+        }
+        bytePaths(-1, bytes.toByteArray(), false);
+    }
+
+    private void charPaths(int iteration, String text) throws IOException {
+        String expected = ReferenceAtbash.transform(text);
+        char[] chars = text.toCharArray();
+
+        StringBuilder single = new StringBuilder(text.length());
+        for (char c : chars) {
+            single.append(AtbashCipher.transform(c));
+        }
+        compare("transform(char)", iteration, text, expected, single.toString());
+        compare("transform(String)", iteration, text, expected, AtbashCipher.transform(text));
+        compare("AlphabetCipher.ATBASH", iteration, text, expected, AlphabetCipher.ATBASH.transform(text));
+        compare("AtbashParallel", iteration, text, expected, AtbashParallel.transform(text, 1 + random.nextInt(64)));
+
+        inPlace("transformInPlace", iteration, text, (a, off, len) -> AtbashCipher.transformInPlace(a, off, len));
+        inPlace("transformScalar", iteration, text, AtbashCipher::transformScalar);
+        if (AtbashCipher.VECTORIZED) {
+            inPlace("vector chars", iteration, text, AtbashVectorEngine::transformInPlace);
+        }
+
+        char[] copy = new char[chars.length + 8];
+        AtbashCipher.transform(chars, 0, copy, 4, chars.length);
+        compare("transform(char[], char[])", iteration, text, expected, new String(copy, 4, chars.length));
+
+        CharBuffer heap = CharBuffer.allocate(chars.length);
+        AtbashCipher.transform(CharBuffer.wrap(text), heap);
+        compare("transform(CharBuffer) wrap", iteration, text, expected, heap.flip().toString());
+        CharBuffer direct = ByteBuffer.allocateDirect(chars.length * 2).asCharBuffer();
+        AtbashCipher.transform(CharBuffer.wrap(chars), direct);
+        compare("transform(CharBuffer) direct", iteration, text, expected, direct.flip().toString());
+
+        StringBuilder appended = new StringBuilder();
+        AtbashCipher.transform(text, appended);
+        compare("transform(CharSequence, Appendable)", iteration, text, expected, appended.toString());
+
+        StringWriter writer = new StringWriter();
+        AtbashCipher.transform(new TrickleReader(new StringReader(text)), writer);
+        compare("transform(Reader, Writer)", iteration, text, expected, writer.toString());
+    }
+
+    private void bytePaths(int iteration, byte[] input, boolean wellFormed) throws IOException {
+        byte[] expected = wellFormed
+                ? ReferenceAtbash.transform(new String(input, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8)
+                : ReferenceAtbash.transformUtf8(input);
+        String kind = wellFormed ? "" : " (malformed)";
+
+        compareBytes("utf8 transform" + kind, iteration, input, expected,
+                transformed(input, b -> AtbashUtf8.transform(b, 0, b.length, true)));
+        compareBytes("utf8 scalar" + kind, iteration, input, expected,
+                transformed(input, b -> AtbashUtf8.transformScalar(b, 0, b.length, true)));
+        if (AtbashCipher.VECTORIZED) {
+            compareBytes("vector bytes" + kind, iteration, input, expected,
+                    transformed(input, b -> AtbashVectorEngine.transform(b, 0, b.length, true)));
+        }
+
+        ByteBuffer heap = ByteBuffer.wrap(input.clone());
+        AtbashUtf8.transform(heap, heap, 0, input.length, true);
+        compareBytes("utf8 ByteBuffer heap" + kind, iteration, input, expected, heap.array());
+        ByteBuffer source = ByteBuffer.allocateDirect(input.length).put(input).flip();
+        ByteBuffer target = ByteBuffer.allocateDirect(input.length);
+        AtbashUtf8.transform(source, target, 0, input.length, true);
+        byte[] direct = new byte[input.length];
+        target.get(0, direct);
+        compareBytes("utf8 ByteBuffer direct" + kind, iteration, input, expected, direct);
+
+        // 작은 버퍼와 들쭉날쭉한 읽기로 시퀀스가 버퍼 경계에서 잘리도록 함
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AtbashCipher.transform(new TrickleInputStream(input), out, new byte[3 + random.nextInt(29)]);
+        compareBytes("transform(InputStream) small buffer" + kind, iteration, input, expected, out.toByteArray());
+        out.reset();
+        AtbashCipher.transform(new TrickleInputStream(input), out);
+        compareBytes("transform(InputStream)" + kind, iteration, input, expected, out.toByteArray());
+    }
+
+    private void charsetPaths(int iteration, String wellFormed) {
+        String expected = ReferenceAtbash.transform(wellFormed);
+        byte[] utf8 = wellFormed.getBytes(StandardCharsets.UTF_8);
+        compare("AtbashCharset decode", iteration, wellFormed, expected, new String(utf8, AtbashCharset.INSTANCE));
+        compareBytes("AtbashCharset encode", iteration, utf8, expected.getBytes(StandardCharsets.UTF_8),
+                wellFormed.getBytes(AtbashCharset.INSTANCE));
+    }
+
+    private void filePaths(int iteration, byte[] input) throws IOException {
+        byte[] expected = ReferenceAtbash.transformUtf8(input);
+        Path source = Files.createTempFile("atbash-check", ".txt");
+        Path target = Files.createTempFile("atbash-check", ".out");
+        try {
+            Files.write(source, input);
+            AtbashFiles.transform(source, target);
+            compareBytes("AtbashFiles.transform", iteration, input, expected, Files.readAllBytes(target));
+            AtbashParallel.transform(source, target, 1 + random.nextInt(4096));
+            compareBytes("AtbashParallel file", iteration, input, expected, Files.readAllBytes(target));
+
+            // 무작위 위치에서 나눈 구간을 차례로 읽어 이어 붙이면 전체와 같아야 함
+            ByteArrayOutputStream ranges = new ByteArrayOutputStream();
+            long from = 0;
+            while (from < input.length) {
+                long to = Math.min(input.length, from + 1 + random.nextInt(1000));
+                AtbashFiles.transformRange(source, from, to, ranges);
+                from = to;
+            }
+            compareBytes("AtbashFiles.transformRange", iteration, input, expected, ranges.toByteArray());
+
+            compareBytes("AtbashFlow.chunks", iteration, input, expected,
+                    collect(AtbashFlow.chunks(source, 4 + random.nextInt(4096))));
+
+            archivePaths(iteration, input, expected, source, target);
+        } finally {
+            Files.deleteIfExists(source);
+            Files.deleteIfExists(target);
+        }
+    }
+
+    private void archivePaths(int iteration, byte[] input, byte[] expected, Path source, Path target)
+            throws IOException {
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(gzip)) {
+            out.write(input);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AtbashArchives.transformGzip(new TrickleInputStream(gzip.toByteArray()), out);
+        compareBytes("AtbashArchives.transformGzip(InputStream)", iteration, input, expected, gunzip(out.toByteArray()));
+        Files.write(source, gzip.toByteArray());
+        AtbashArchives.transformGzip(source, target);
+        compareBytes("AtbashArchives.transformGzip(Path)", iteration, input, expected,
+                gunzip(Files.readAllBytes(target)));
+
+        // 무작위 위치에서 나눈 항목을 무작위 압축 방식으로 담음. 항목마다 따로 변환되므로 기대값도 항목별로 만듦
+        ByteArrayOutputStream expectedEntries = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(source))) {
+            int from = 0;
+            int index = 0;
+            do {
+                int to = Math.min(input.length, from + random.nextInt(input.length + 1));
+                byte[] part = Arrays.copyOfRange(input, from, to);
+                ZipEntry entry = new ZipEntry("entry-" + index++);
+                if (random.nextBoolean()) {
+                    CRC32 crc = new CRC32();
+                    crc.update(part);
+                    entry.setMethod(ZipEntry.STORED);
+                    entry.setSize(part.length);
+                    entry.setCrc(crc.getValue());
+                }
+                zip.putNextEntry(entry);
+                zip.write(part);
+                zip.closeEntry();
+                expectedEntries.write(ReferenceAtbash.transformUtf8(part));
+                from = to;
+            } while (from < input.length);
+        }
+        AtbashArchives.transformZip(source, target, 1 + random.nextInt(4));
+        ByteArrayOutputStream entries = new ByteArrayOutputStream();
+        try (ZipFile zip = new ZipFile(target.toFile())) {
+            for (ZipEntry entry : Collections.list(zip.entries())) {
+                try (InputStream in = zip.getInputStream(entry)) {
+                    in.transferTo(entries);
+                }
+            }
+        }
+        compareBytes("AtbashArchives.transformZip", iteration, input, expectedEntries.toByteArray(),
+                entries.toByteArray());
+    }
+
+    private static byte[] gunzip(byte[] gzip) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            return in.readAllBytes();
+        }
+    }
+
+    /** 한 번에 무작위 개수씩 요청하며 발행자가 내보낸 조각을 모두 이어 붙입니다. */
+    private byte[] collect(Flow.Publisher<ByteBuffer> publisher) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        int batch = 1 + random.nextInt(8);
+        publisher.subscribe(new Flow.Subscriber<>() {
+            private Flow.Subscription subscription;
+            private int pending;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                pending = batch;
+                subscription.request(batch);
+            }
+
+            @Override
+            public void onNext(ByteBuffer chunk) {
+                byte[] bytes = new byte[chunk.remaining()];
+                chunk.get(bytes);
+                out.writeBytes(bytes);
+                if (--pending == 0) {
+                    pending = batch;
+                    subscription.request(batch);
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                done.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                done.complete(null);
+            }
+        });
+        try {
+            done.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+        return out.toByteArray();
+    }
+
+    private interface RangeTransform {
+        void apply(char[] chars, int offset, int length);
+    }
+
+    /** 앞뒤에 여유를 둔 배열의 무작위 구간만 변환하고, 구간 밖이 그대로인지 함께 확인합니다. */
+    private void inPlace(String path, int iteration, String text, RangeTransform transform) {
+        int before = random.nextInt(17);
+        int after = random.nextInt(17);
+        char[] padded = new char[before + text.length() + after];
+        for (int i = 0; i < padded.length; i++) {
+            padded[i] = BOUNDARY_CHARS[random.nextInt(BOUNDARY_CHARS.length)];
+        }
+        text.getChars(0, text.length(), padded, before);
+        char[] expected = padded.clone();
+        for (int i = before; i < before + text.length(); i++) {
+            expected[i] = ReferenceAtbash.transform(expected[i]);
+        }
+        transform.apply(padded, before, text.length());
+        compare(path, iteration, text, new String(expected), new String(padded));
+    }
+
+    private static byte[] transformed(byte[] input, Function<byte[], Integer> transform) {
+        byte[] copy = input.clone();
+        transform.apply(copy);
+        return copy;
+    }
+
+    private String randomText() {
+        int length = randomLength();
+        StringBuilder text = new StringBuilder(length);
+        int style = random.nextInt(4);
+        while (text.length() < length) {
+            int kind = style == 0 ? random.nextInt(6) : style;
+            switch (kind) {
+                case 1:
+                    text.append(BOUNDARY_CHARS[random.nextInt(BOUNDARY_CHARS.length)]);
+                    break;
+                case 2:
+                    text.append((char) random.nextInt('가', '힣' + 1));
+                    break;
+                case 3:
+                    text.append((char) random.nextInt(0x20, 0x7F));
+                    break;
+                case 4:
+                    text.appendCodePoint(random.nextInt(0x10000, 0x110000));
+                    break;
+                default:
+                    text.append((char) random.nextInt(0x10000));
+            }
+        }
+        return text.toString();
+    }
+
+    private byte[] randomBytes() {
+        byte[] bytes = new byte[randomLength()];
+        for (int i = 0; i < bytes.length; i++) {
+            int kind = random.nextInt(8);
+            if (kind == 0) {
+                bytes[i] = (byte) random.nextInt(0xEA, 0xEE);
+            } else if (kind < 3) {
+                bytes[i] = (byte) random.nextInt(0x80, 0xC0);
+            } else if (kind < 6) {
+                bytes[i] = (byte) random.nextInt(0x80);
+            } else {
+                bytes[i] = (byte) random.nextInt(256);
+            }
+        }
+        return bytes;
+    }
+
+    /** 대부분 짧게, 가끔 벡터 경로와 병렬 경로의 문턱을 넘는 길이 */
+    private int randomLength() {
+        int kind = random.nextInt(10);
+        if (kind < 6) {
+            return random.nextInt(80);
+        } else if (kind < 9) {
+            return random.nextInt(1024);
+        }
+        return random.nextInt(64 * 1024);
+    }
+
+    private static String removeUnpairedSurrogates(String text) {
+        StringBuilder result = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                result.append(c).append(text.charAt(++i));
+            } else if (!Character.isSurrogate(c)) {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    private void compare(String path, int iteration, String input, String expected, String actual) {
+        checks++;
+        if (!expected.equals(actual)) {
+            int index = mismatch(expected.toCharArray(), actual.toCharArray());
+            fail(path, iteration, String.format("length %d, first difference at char %d: input %s, expected %s, got %s",
+                    input.length(), index, hex(input, index), hex(expected, index), hex(actual, index)));
+        }
+    }
+
+    private void compareBytes(String path, int iteration, byte[] input, byte[] expected, byte[] actual) {
+        checks++;
+        int index = Arrays.mismatch(expected, actual);
+        if (index >= 0) {
+            fail(path, iteration, String.format("length %d, first difference at byte %d: input %s, expected %s, got %s",
+                    input.length, index, hex(input, index), hex(expected, index), hex(actual, index)));
+        }
+    }
+
+    private void fail(String path, int iteration, String detail) {
+        if (failures.size() < MAX_REPORTED_FAILURES) {
+            failures.add(String.format("FAIL %s (seed %d, iteration %d): %s", path, seed, iteration, detail));
+        } else if (failures.size() == MAX_REPORTED_FAILURES) {
+            failures.add("... more failures omitted");
+        }
+    }
+
+    private static int mismatch(char[] a, char[] b) {
+        int index = Arrays.mismatch(a, b);
+        return index < 0 ? Math.min(a.length, b.length) : index;
+    }
+
+    private static String hex(String text, int index) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = Math.max(0, index - 2); i < Math.min(text.length(), index + 3); i++) {
+            sb.append(i == index ? "*" : " ").append(String.format("%04X", (int) text.charAt(i)));
+        }
+        return sb.append(" ]").toString();
+    }
+
+    private static String hex(byte[] bytes, int index) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = Math.max(0, index - 3); i < Math.min(bytes.length, index + 4); i++) {
+            sb.append(i == index ? "*" : " ").append(String.format("%02X", bytes[i] & 0xFF));
+        }
+        return sb.append(" ]").toString();
+    }
+
+    /** 요청보다 적게, 무작위 크기로 읽어 주는 Reader */
+    private final class TrickleReader extends Reader {
+        private final Reader in;
+
+        TrickleReader(Reader in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            return in.read(buffer, offset, Math.min(length, 1 + random.nextInt(97)));
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    /** 요청보다 적게, 무작위 크기로 읽어 주는 InputStream */
+    private final class TrickleInputStream extends InputStream {
+        private final ByteArrayInputStream in;
+
+        TrickleInputStream(byte[] bytes) {
+            this.in = new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public int read() {
+            return in.read();
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            return in.read(buffer, offset, Math.min(length, 1 + random.nextInt(97)));
+        }
+    }
+}
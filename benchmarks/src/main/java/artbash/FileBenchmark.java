@@ -0,0 +1,86 @@
+package artbash;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 파일 읽기 → 변환 → 쓰기 전체 경로의 처리 시간을 측정합니다.
+ * {@code readString}은 GUI의 불러오기/저장 경로와 같은 방식입니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class FileBenchmark {
+
+    @Param({"16", "65536", "16777216", "1073741824"})
+    public long size;
+
+    @Param({"ASCII", "HANGUL", "MIXED"})
+    public TextSamples.Mix mix;
+
+    private Path directory;
+    private Path source;
+    private Path target;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("artbash-bench");
+        source = directory.resolve("source.txt");
+        target = directory.resolve("target.txt");
+        Files.write(source, TextSamples.utf8(mix, size));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(source);
+        Files.deleteIfExists(target);
+        Files.deleteIfExists(directory);
+    }
+
+    /** 파일 전체를 문자열로 읽고 변환한 뒤 다시 씀 */
+    @Benchmark
+    public void readString() throws IOException {
+        Files.writeString(target, AtbashCipher.transform(Files.readString(source)));
+    }
+
+    /** 고정 크기 버퍼로 스트리밍 변환 */
+    @Benchmark
+    public long stream() throws IOException {
+        try (InputStream in = Files.newInputStream(source);
+             OutputStream out = Files.newOutputStream(target)) {
+            return AtbashCipher.transform(in, out);
+        }
+    }
+
+    /** 메모리 매핑된 바이트 단위 변환 */
+    @Benchmark
+    public long mapped() throws IOException {
+        return AtbashFiles.transform(source, target);
+    }
+
+    /** 메모리 매핑 + fork/join 병렬 변환 */
+    @Benchmark
+    public long mappedParallel() throws IOException {
+        return AtbashParallel.transform(source, target);
+    }
+}
@@ -0,0 +1,69 @@
+package artbash;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link AtbashHttpServer}에 여러 스레드가 동시에 {@code POST /transform}을 보낼 때의 처리량과 지연 시간 분포를 측정합니다.
+ * 같은 JVM의 루프백 연결을 쓰므로 클라이언트와 서버가 CPU를 나눠 씁니다.
+ * 동시 요청 수는 {@code -t}로, 서버의 동시 처리 제한은 {@code -p maxConcurrent=}로 바꿉니다.
+ * 제한을 넘은 요청은 503으로 바로 돌아오므로 처리량에 함께 세어집니다. {@link #transform}의 반환값이 상태 코드입니다.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@Threads(64)
+@State(Scope.Benchmark)
+public class HttpServerBenchmark {
+
+    @Param({"64", "4096"})
+    public long size;
+
+    @Param({"1024"})
+    public int maxConcurrent;
+
+    private AtbashHttpServer server;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = new AtbashHttpServer(new InetSocketAddress("127.0.0.1", 0), maxConcurrent, 64L * 1024 * 1024);
+        server.start();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/transform"))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(TextSamples.utf8(TextSamples.Mix.MIXED, size)))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Benchmark
+    public int transform() throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray()).statusCode();
+    }
+}
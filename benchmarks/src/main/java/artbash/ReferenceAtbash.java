@@ -0,0 +1,71 @@
+package artbash;
+
+/**
+ * 동등성 검사의 기준이 되는 고정된 아트배쉬 구현입니다.
+ * 최초 버전의 {@code AtbashCipher.transform(String)}을 그대로 옮긴 것이며, 더 빠른 경로가 추가되어도 바꾸지 않습니다.
+ * 앱의 다른 어떤 클래스도 사용하지 않으므로 앱 쪽 변경이 기준을 바꿀 수 없습니다.
+ */
+final class ReferenceAtbash {
+
+    private ReferenceAtbash() {
+    }
+
+    /**
+     * 최초 버전의 문자열 변환 (문자 하나씩 범위를 비교).
+     */
+    static String transform(String text) {
+        if (text == null) {
+            return null;
+        }
+
+        StringBuilder result = new StringBuilder();
+
+        for (char character : text.toCharArray()) {
+            result.append(transform(character));
+        }
+
+        return result.toString();
+    }
+
+    static char transform(char character) {
+        if (character >= 'a' && character <= 'z') {
+            return (char) ('z' - character + 'a');
+        } else if (character >= 'A' && character <= 'Z') {
+            return (char) ('Z' - character + 'A');
+        } else if (character >= '가' && character <= '힣') {
+            return (char) ('힣' - character + '가');
+        }
+        return character;
+    }
+
+    /**
+     * UTF-8 바이트 경로의 기준입니다. 올바른 UTF-8이면 디코딩 → {@link #transform(String)} → 인코딩과 같고,
+     * 잘못된 시퀀스는 바이트 그대로 둡니다. ASCII 바이트와 한글 음절의 올바른 3바이트 시퀀스만 바뀝니다.
+     */
+    static byte[] transformUtf8(byte[] bytes) {
+        byte[] result = bytes.clone();
+        int i = 0;
+        while (i < result.length) {
+            int b0 = result[i] & 0xFF;
+            if (b0 < 0x80) {
+                result[i] = (byte) transform((char) b0);
+                i++;
+            } else if (b0 >= 0xE0 && b0 <= 0xEF && i + 2 < result.length
+                    && (result[i + 1] & 0xC0) == 0x80 && (result[i + 2] & 0xC0) == 0x80) {
+                char c = (char) (((b0 & 0x0F) << 12) | ((result[i + 1] & 0x3F) << 6) | (result[i + 2] & 0x3F));
+                if (c >= '가' && c <= '힣') {
+                    char mapped = transform(c);
+                    result[i] = (byte) (0xE0 | (mapped >>> 12));
+                    result[i + 1] = (byte) (0x80 | ((mapped >>> 6) & 0x3F));
+                    result[i + 2] = (byte) (0x80 | (mapped & 0x3F));
+                    i += 3;
+                } else {
+                    i++;
+                }
+            } else {
+                i++;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,91 @@
+package artbash;
+
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+/**
+ * 벤치마크용 입력 텍스트를 만듭니다. 같은 시드로 항상 같은 텍스트가 만들어집니다.
+ */
+public final class TextSamples {
+
+    /** 입력에 섞는 문자 종류 */
+    public enum Mix {
+        /** 영문, 숫자, 공백, 문장 부호 (UTF-8 1바이트) */
+        ASCII,
+        /** 한글 음절과 공백 */
+        HANGUL,
+        /** 영문/한글/기타 문자가 섞인 로그 형태의 텍스트 */
+        MIXED
+    }
+
+    private static final long SEED = 42;
+
+    private TextSamples() {
+    }
+
+    /**
+     * UTF-8로 인코딩했을 때 대략 {@code utf8Size} 바이트가 되는 텍스트를 만듭니다.
+     * <p>
+     * 문자 수를 먼저 세어 버퍼를 정확히 그 크기로 잡습니다. 바이트 수만큼 잡으면 첫 한글 문자에서
+     * UTF-16으로 바뀌면서 1 GB 입력이 String 최대 길이를 넘습니다.
+     */
+    static String text(Mix mix, long utf8Size) {
+        if (utf8Size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("too large for a single String: " + utf8Size);
+        }
+        int length = length(mix, utf8Size);
+        SplittableRandom random = new SplittableRandom(SEED);
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(next(mix, random));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * {@link #text(Mix, long)}가 만들 문자 수. 같은 시드로 같은 문자열을 만들며 바이트 수만 셉니다.
+     */
+    private static int length(Mix mix, long utf8Size) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        long bytes = 0;
+        int length = 0;
+        while (bytes < utf8Size) {
+            char c = next(mix, random);
+            bytes += c < 0x80 ? 1 : (c < 0x800 ? 2 : 3);
+            length++;
+        }
+        return length;
+    }
+
+    static byte[] utf8(Mix mix, long utf8Size) {
+        return text(mix, utf8Size).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static char next(Mix mix, SplittableRandom random) {
+        switch (mix) {
+            case ASCII:
+                return ascii(random);
+            case HANGUL:
+                return random.nextInt(8) == 0 ? ' ' : (char) random.nextInt('가', '힣' + 1);
+            default:
+                int kind = random.nextInt(10);
+                if (kind < 5) {
+                    return ascii(random);
+                } else if (kind < 9) {
+                    return (char) random.nextInt('가', '힣' + 1);
+                }
+                // 변환 대상이 아닌 문자 (라틴 확장, 한자 등)
+                return (char) (random.nextBoolean() ? random.nextInt(0x00C0, 0x0250) : random.nextInt(0x4E00, 0x9FA6));
+        }
+    }
+
+    private static char ascii(SplittableRandom random) {
+        int kind = random.nextInt(10);
+        if (kind < 7) {
+            return (char) (random.nextBoolean() ? random.nextInt('a', 'z' + 1) : random.nextInt('A', 'Z' + 1));
+        } else if (kind < 9) {
+            return ' ';
+        }
+        return (char) random.nextInt('!', '@' + 1);
+    }
+}
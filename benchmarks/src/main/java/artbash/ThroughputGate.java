@@ -0,0 +1,142 @@
+package artbash;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * 주요 변환 경로의 처리량을 짧게 측정하여 저장된 기준값과 비교합니다.
+ * 어느 경로든 기준값보다 허용 폭 이상 느려지면 종료 코드 1로 끝나므로 빌드를 실패시킬 수 있습니다.
+ * <p>
+ * 처리량의 절대값은 기계마다 다르므로, 같은 실행에서 함께 측정한 고정 구현
+ * ({@link TransformBenchmark#reference})에 대한 배율로 비교합니다. 기준값 파일에도 배율이 들어 있으므로
+ * 더 느리거나 빠른 기계에서도 그대로 쓸 수 있습니다.
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar artbash.ThroughputGate [--update]
+ *     [-Datbash.gate.baseline=benchmarks/throughput-baseline.properties] [-Datbash.gate.margin=0.2]
+ * </pre>
+ */
+public final class ThroughputGate {
+
+    /** 측정하는 {@link TransformBenchmark} 메서드 */
+    private static final String[] BENCHMARKS = {"string", "charsDispatch", "utf8Dispatch"};
+
+    /** 배율의 기준이 되는 메서드 */
+    private static final String REFERENCE = "reference";
+
+    private static final String SIZE = "1048576";
+    private static final String MIX = "MIXED";
+
+    private ThroughputGate() {
+    }
+
+    public static void main(String[] args) throws IOException, RunnerException {
+        boolean update = args.length > 0 && args[0].equals("--update");
+        Path baselineFile = Paths.get(System.getProperty("atbash.gate.baseline",
+                "benchmarks/throughput-baseline.properties"));
+        double margin = Double.parseDouble(System.getProperty("atbash.gate.margin", "0.2"));
+        if (margin < 0 || margin >= 1) {
+            throw new IllegalArgumentException("margin must be in [0, 1): " + margin);
+        }
+
+        Map<String, Double> measured = speedups(measure());
+
+        if (update) {
+            Properties baseline = new Properties();
+            measured.forEach((key, speedup) -> baseline.setProperty(key, String.format("%.2f", speedup)));
+            try (Writer writer = Files.newBufferedWriter(baselineFile, StandardCharsets.UTF_8)) {
+                baseline.store(writer, "TransformBenchmark throughput / reference throughput (size=" + SIZE
+                        + ", mix=" + MIX + "); regenerate with ThroughputGate --update");
+            }
+            System.out.println("Baseline written to " + baselineFile);
+            return;
+        }
+
+        if (!Files.exists(baselineFile)) {
+            System.out.println("No baseline at " + baselineFile + "; record one with --update");
+            System.exit(1);
+        }
+        Properties baseline = new Properties();
+        try (Reader reader = Files.newBufferedReader(baselineFile, StandardCharsets.UTF_8)) {
+            baseline.load(reader);
+        }
+
+        int regressions = 0;
+        System.out.printf("%-16s %14s %14s %8s%n", "benchmark", "baseline", "measured", "change");
+        for (Map.Entry<String, Double> entry : measured.entrySet()) {
+            String expected = baseline.getProperty(entry.getKey());
+            if (expected == null) {
+                System.out.printf("%-16s %14s %13.2fx %8s%n", entry.getKey(), "-", entry.getValue(), "new");
+                continue;
+            }
+            double reference = Double.parseDouble(expected);
+            double change = entry.getValue() / reference - 1;
+            boolean regressed = change < -margin;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-16s %13.2fx %13.2fx %+7.1f%%%s%n", entry.getKey(), reference, entry.getValue(),
+                    change * 100, regressed ? "  REGRESSION" : "");
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) more than %.0f%% below baseline %s%n",
+                    regressions, margin * 100, baselineFile);
+            System.exit(1);
+        }
+        System.out.printf("Throughput within %.0f%% of baseline%n", margin * 100);
+    }
+
+    private static Map<String, Double> measure() throws RunnerException {
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.include(TransformBenchmark.class.getName() + "\\." + REFERENCE + "$");
+        for (String benchmark : BENCHMARKS) {
+            builder.include(TransformBenchmark.class.getName() + "\\." + benchmark + "$");
+        }
+        Options options = builder
+                .param("size", SIZE)
+                .param("mix", MIX)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .forks(1)
+                .jvmArgs("--add-modules", "jdk.incubator.vector")
+                .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        Map<String, Double> scores = new TreeMap<>();
+        for (RunResult result : results) {
+            String name = result.getParams().getBenchmark();
+            scores.put(name.substring(name.lastIndexOf('.') + 1), result.getPrimaryResult().getScore());
+        }
+        return scores;
+    }
+
+    /**
+     * 각 경로의 처리량을 같은 실행의 고정 구현 처리량으로 나눈 배율.
+     */
+    private static Map<String, Double> speedups(Map<String, Double> scores) {
+        Double reference = scores.remove(REFERENCE);
+        if (reference == null || reference <= 0) {
+            throw new IllegalStateException("no result for TransformBenchmark." + REFERENCE);
+        }
+        Map<String, Double> speedups = new TreeMap<>();
+        scores.forEach((name, score) -> speedups.put(name, score / reference));
+        return speedups;
+    }
+}
@@ -0,0 +1,118 @@
+package artbash;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 메모리 안에서의 변환 처리량을 측정합니다.
+ * 입력 크기는 UTF-8 기준 바이트 수이며, 할당률은 {@code -prof gc}로 함께 측정합니다.
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar TransformBenchmark -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class TransformBenchmark {
+
+    @Param({"16", "1024", "65536", "1048576", "67108864", "1073741824"})
+    public long size;
+
+    @Param({"ASCII", "HANGUL", "MIXED"})
+    public TextSamples.Mix mix;
+
+    /*
+     * 입력 표현마다 상태를 따로 두어 각 벤치마크가 쓰는 입력만 만듦.
+     * 세 표현을 한꺼번에 들고 있으면 1 GB 입력에서 힙이 4 GB 넘게 필요함.
+     */
+
+    @State(Scope.Benchmark)
+    public static class Text {
+        String text;
+
+        @Setup(Level.Trial)
+        public void setUp(TransformBenchmark params) {
+            text = TextSamples.text(params.mix, params.size);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Chars {
+        char[] chars;
+
+        @Setup(Level.Trial)
+        public void setUp(TransformBenchmark params) {
+            chars = TextSamples.text(params.mix, params.size).toCharArray();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Utf8 {
+        byte[] utf8;
+
+        @Setup(Level.Trial)
+        public void setUp(TransformBenchmark params) {
+            utf8 = TextSamples.utf8(params.mix, params.size);
+        }
+    }
+
+    /** 고정된 최초 구현. {@link ThroughputGate}가 다른 경로의 처리량을 이 값에 대한 비율로 봄 */
+    @Benchmark
+    public String reference(Text input) {
+        return ReferenceAtbash.transform(input.text);
+    }
+
+    /** 공개 API: 문자열 → 문자열 */
+    @Benchmark
+    public String string(Text input) {
+        return AtbashCipher.transform(input.text);
+    }
+
+    /** 공개 API: fork/join 병렬 변환 */
+    @Benchmark
+    public String stringParallel(Text input) {
+        return AtbashParallel.transform(input.text);
+    }
+
+    /** 테이블 조회만 사용하는 제자리 변환 */
+    @Benchmark
+    public char[] charsScalar(Chars input) {
+        AtbashCipher.transformScalar(input.chars, 0, input.chars.length);
+        return input.chars;
+    }
+
+    /** 벡터 엔진을 사용할 수 있으면 벡터 엔진으로 처리하는 제자리 변환 */
+    @Benchmark
+    public char[] charsDispatch(Chars input) {
+        AtbashCipher.transformInPlace(input.chars, 0, input.chars.length);
+        return input.chars;
+    }
+
+    /** UTF-8 바이트 단위 스칼라 변환 */
+    @Benchmark
+    public byte[] utf8Scalar(Utf8 input) {
+        AtbashUtf8.transformScalar(input.utf8, 0, input.utf8.length, true);
+        return input.utf8;
+    }
+
+    /** UTF-8 바이트 단위 변환 (벡터 엔진 사용 가능 시 바이트 레인 사용) */
+    @Benchmark
+    public byte[] utf8Dispatch(Utf8 input) {
+        AtbashUtf8.transform(input.utf8, 0, input.utf8.length, true);
+        return input.utf8;
+    }
+}
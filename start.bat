@@ -1,2 +1,3 @@
-javac AtbashCipher.java AtbashCipherGUI.java
-java AtbashCipherGUI
\ No newline at end of file
+javac -encoding UTF-8 --add-modules jdk.incubator.vector -d build app\src\main\java\artbash\*.java
+xcopy /E /I /Y /Q app\src\main\resources build >nul
+java --add-modules jdk.incubator.vector -cp build artbash.AtbashCipherGUI
\ No newline at end of file